@@ -0,0 +1,152 @@
+"""
+Benchmark sweep for finding the best number of executors and threads per executor on a node.
+For each combination this starts the executors (the same way the Embeddings API does), sends requests with generated
+records from as many clients as the executors can handle at the same time and reports the throughput and latency.
+
+Usage (from the python folder): python3 benchmark-layout.py --executors=1,2,4 --threads=1,2,4,8 --pin
+Combinations that need more cpus than available are skipped unless --oversubscribe is specified.
+"""
+import argparse
+import concurrent.futures
+import json
+import os
+import random
+import socket
+import statistics
+import subprocess
+import time
+
+HOST = "127.0.0.1"
+WORDS = ["portrait", "landscape", "painting", "museum", "archive", "letter", "photograph", "manuscript", "map", "city",
+         "river", "church", "castle", "king", "queen", "war", "music", "dance", "theatre", "poster", "textile", "coin",
+         "sculpture", "bridge", "harbour", "ship", "garden", "flower", "animal", "mountain", "village", "festival"]
+
+
+def generate_records(n, seed):
+    rnd = random.Random(seed)
+    records = []
+    for i in range(n):
+        records.append({
+            "id": f"/benchmark/record_{seed}_{i}",
+            "title": [" ".join(rnd.choices(WORDS, k=rnd.randint(2, 8)))],
+            "description": [" ".join(rnd.choices(WORDS, k=rnd.randint(0, 60)))],
+            "dcCreator": [rnd.choice(WORDS).capitalize()],
+        })
+    return records
+
+
+def send(port, message, timeout):
+    with socket.create_connection((HOST, port), timeout=timeout) as s:
+        s.sendall((message + "\n").encode())
+        answer = b''
+        while True:  # the executor closes the connection after answering
+            data = s.recv(65536)
+            if not data:
+                return answer.decode()
+            answer += data
+
+
+def wait_until_ready(port, timeout):
+    end = time.time() + timeout
+    while time.time() < end:
+        try:
+            if send(port, "{PING}", 5).strip() == "PONG":
+                return True
+        except OSError:
+            time.sleep(1)
+    return False
+
+
+def start_executors(n_executors, threads, pin, first_port, pipeline_depth):
+    processes = []
+    for i in range(n_executors):
+        env = dict(os.environ, OMP_NUM_THREADS=str(threads), MKL_NUM_THREADS=str(threads),
+                   OPENBLAS_NUM_THREADS=str(threads))
+        command = ["python3", "./europeana_embeddings_cmd.py", f"--port={first_port + i}", "--reload_after=0",
+                   f"--pipeline_depth={pipeline_depth}", f"--threads={threads}"]
+        if pin:
+            command.append(f"--cpu_slot={i}")
+        processes.append(subprocess.Popen(command, cwd="./embeddings-python", env=env))
+    return processes
+
+
+def stop_executors(processes, first_port):
+    for i, process in enumerate(processes):
+        try:
+            send(first_port + i, "{TERMINATE}", 10)
+        except OSError:
+            pass
+    for process in processes:
+        try:
+            process.wait(30)
+        except subprocess.TimeoutExpired:
+            process.kill()
+
+
+def run(n_executors, args):
+    """
+    Send args.requests requests of args.records records each, spread over the executors, and return the latencies
+    """
+    requests = [json.dumps({"records": generate_records(args.records, i)}) for i in range(args.requests)]
+    latencies = []
+
+    def do_request(i):
+        start = time.time()
+        answer = send(args.first_port + i % n_executors, requests[i], 600)
+        if "success" not in answer:
+            print(f"Request {i} failed: {answer[:200]}")
+        return time.time() - start
+
+    clients = n_executors * args.pipeline_depth
+    with concurrent.futures.ThreadPoolExecutor(max_workers=clients) as pool:
+        latencies.extend(pool.map(do_request, range(args.requests)))
+    return latencies
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Benchmark sweep of executors x threads per executor")
+    parser.add_argument("--executors", default="1,2,4", help="Comma-separated numbers of executors to test")
+    parser.add_argument("--threads", default="1,2,4,8", help="Comma-separated numbers of threads per executor to test")
+    parser.add_argument("--pin", action="store_true", help="Pin each executor to its own set of cpus")
+    parser.add_argument("--oversubscribe", action="store_true", help="Also test layouts that need more cpus than available")
+    parser.add_argument("--records", type=int, default=100, help="Number of records per request")
+    parser.add_argument("--requests", type=int, default=40, help="Number of requests per combination")
+    parser.add_argument("--warmup", type=int, default=2, help="Number of warm-up requests per executor")
+    parser.add_argument("--pipeline_depth", type=int, default=2, help="Pipeline depth of the executors")
+    parser.add_argument("--first_port", type=int, default=13001, help="Port of the first executor")
+    args = parser.parse_args()
+
+    cpus = len(os.sched_getaffinity(0)) if hasattr(os, "sched_getaffinity") else os.cpu_count()
+    print(f"{cpus} cpus available, {args.requests} requests of {args.records} records per combination")
+    results = []
+    for n_executors in [int(n) for n in args.executors.split(",")]:
+        for threads in [int(t) for t in args.threads.split(",")]:
+            if n_executors * threads > cpus and not args.oversubscribe:
+                print(f"Skipping {n_executors} executors x {threads} threads (needs {n_executors * threads} cpus)")
+                continue
+            processes = start_executors(n_executors, threads, args.pin, args.first_port, args.pipeline_depth)
+            try:
+                if not all(wait_until_ready(args.first_port + i, 300) for i in range(n_executors)):
+                    print(f"Executors for {n_executors} x {threads} did not start, skipping")
+                    continue
+                for i in range(n_executors):
+                    for w in range(args.warmup):
+                        send(args.first_port + i, json.dumps({"records": generate_records(args.records, -1 - w)}),
+                             600)
+                start = time.time()
+                latencies = sorted(run(n_executors, args))
+                duration = time.time() - start
+            finally:
+                stop_executors(processes, args.first_port)
+            result = (n_executors, threads, args.requests * args.records / duration,
+                      statistics.median(latencies) * 1000, latencies[int(0.95 * (len(latencies) - 1))] * 1000)
+            print("%d executors x %d threads: %.1f records/s, p50 %.0f ms, p95 %.0f ms" % result, flush=True)
+            results.append(result)
+
+    print("\nexecutors  threads  records/s    p50 ms    p95 ms")
+    for result in sorted(results, key=lambda r: -r[2]):
+        print("%9d  %7d  %9.1f  %8.0f  %8.0f" % result)
+
+
+if __name__ == '__main__':
+    main()
@@ -1,12 +1,20 @@
+import os
+import queue
+import signal
 import socket
+import sys
+import threading
+import traceback
 
 ID = ""
+TERMINATE_SIGNAL = '{TERMINATE}\n'
+PING_SIGNAL = '{PING}\n'
 
 def socket_listen(socket, answer_callback_function, verbose, id):
     """
     Listen on the provided socket and send back an answer generated by the callback function.
     If the string '{TERMINATE}' is received then the socket will send back an "OK" response, close the connection and then
-    the program will stop itself
+    the program will stop itself. If the string '{PING}' is received then the socket will send back "PONG" (health check)
     :param socket: the socket to use for listening and sending back data
     :param answer_callback_function: a function that accepts string data as input and sends back dictionary data as output
     :param verbose: boolean, if true we print the flow to the console for debugging
@@ -23,17 +31,200 @@ def socket_listen(socket, answer_callback_function, verbose, id):
         if verbose: print(f"{ID} - Connection from {addr}")
 
         data = __read_data(conn)
-        if (data == '{TERMINATE}\n'):
+        if data is None:
+            return data
+        if (data == TERMINATE_SIGNAL):
             conn.send("OK".encode())
             print(f"{ID} - Received terminate signal. Shutting down application...")
             exit(0)
+        if data == PING_SIGNAL:
+            conn.send("PONG\n".encode())
+            return data
 
         # Send back answer message to the client
         response = answer_callback_function(data)
-        conn.send(str(response).encode())
+        try:
+            conn.sendall(str(response).encode())
+        except Exception as error:
+            # the client may have stopped waiting (request timeout), that shouldn't stop us
+            print(f"{ID} ERROR - Error sending answer: {error}", flush=True)
         return data
 
 
+def socket_listen_pipelined(socket, prepare_function, compute_function, verbose, id, depth=2):
+    """
+    Listen on the provided socket and handle up to 'depth' requests at the same time in a pipeline of 4 threads:
+      - this (accept) thread accepts connections and reads the data
+      - a prepare thread prepares the data using the prepare function
+      - a compute thread generates answers from the prepared data using the compute function
+      - a writer thread sends back the answers and closes the connections
+    This way reading, parsing and formatting of requests is done while the compute function is busy.
+    The compute function receives a list of all prepared data that is waiting at that moment (at most 'depth' items)
+    so it can process them together, and should return a list with an answer for each item.
+    If the string '{TERMINATE}' is received then all requests in the pipeline are finished first, then an "OK" response
+    is sent back and the program stops itself. A '{PING}' is answered with "PONG" by the accept thread, so also while
+    requests are being prepared or computed (but not while the data of another request is being received).
+    This function never returns.
+    :param socket: the socket to use for listening and sending back data
+    :param prepare_function: a function that accepts string data as input and returns prepared data, or a dictionary
+     with key 'status' set to 'error' if the data could not be prepared
+    :param compute_function: a function that accepts a list of prepared data and returns a list of dictionary answers
+    :param verbose: boolean, if true we print the flow to the console for debugging
+    :param id: unique identifier that's added to logs so we can easily see what logs come from what process
+    :param depth: maximum number of requests that are prepared or computed at the same time
+    """
+    global ID
+    ID = id
+    received_queue = queue.Queue()  # the client doesn't send more requests than the pipeline depth at the same time
+    prepared_queue = queue.Queue(maxsize=depth)
+    answer_queue = queue.Queue()
+    threading.Thread(target=__prepare_loop, args=(received_queue, prepared_queue, prepare_function),
+                     daemon=True).start()
+    threading.Thread(target=__compute_loop, args=(prepared_queue, answer_queue, compute_function, depth),
+                     daemon=True).start()
+    threading.Thread(target=__write_loop, args=(answer_queue, verbose), daemon=True).start()
+
+    socket.listen(depth)  # allow the client to connect while we're still busy with previous requests
+    if verbose: print(f"{ID} - Socket listening on {socket.getsockname()} with pipeline depth {depth}...", flush=True)
+    while True:
+        conn, addr = socket.accept()  # wait until client established a connection
+        if verbose: print(f"{ID} - Connection from {addr}")
+        data = __read_data(conn)
+        if data is None:
+            conn.close()
+        elif data == PING_SIGNAL:
+            conn.send("PONG\n".encode())
+            conn.close()
+        elif data == TERMINATE_SIGNAL:
+            print(f"{ID} - Received terminate signal. Finishing pending requests before shutting down...")
+            received_queue.put((conn, None))  # the terminate signal travels through the pipeline like a request
+        else:
+            received_queue.put((conn, data))
+
+
+def socket_listen_zygote(socket, prepare_function, worker_function, verbose, id):
+    """
+    Listen on the provided socket for requests to start a new worker process. For each request the data is prepared
+    using the prepare function, then this process forks and the child runs the worker function while the parent sends
+    back the process id of the child ("{'status': 'success', 'pid': 1234}").
+    Children are never waited for, they are cleaned up automatically when they stop.
+    If the string '{TERMINATE}' is received then an "OK" response is sent back and the program stops itself (workers keep
+    running). A '{PING}' is answered with "PONG". This function never returns.
+    :param socket: the socket to use for listening and sending back data
+    :param prepare_function: a function that accepts string data as input and returns prepared data, or a dictionary
+     with key 'status' set to 'error' if the data could not be prepared
+    :param worker_function: a function that runs in the child process with the prepared data (it should never return)
+    :param verbose: boolean, if true we print the flow to the console for debugging
+    :param id: unique identifier that's added to logs so we can easily see what logs come from what process
+    """
+    global ID
+    ID = id
+    signal.signal(signal.SIGCHLD, signal.SIG_IGN)  # stopped children are reaped automatically
+    socket.listen(5)
+    if verbose: print(f"{ID} - Zygote listening on {socket.getsockname()}...", flush=True)
+    while True:
+        conn, addr = socket.accept()
+        with conn:
+            data = __read_data(conn)
+            if data is None:
+                continue
+            if data == TERMINATE_SIGNAL:
+                conn.send("OK".encode())
+                print(f"{ID} - Received terminate signal. Shutting down zygote...", flush=True)
+                exit(0)
+            if data == PING_SIGNAL:
+                conn.send("PONG\n".encode())
+                continue
+            prepared = prepare_function(data)
+            if __is_error(prepared):
+                conn.send((str(prepared) + "\n").encode())
+                continue
+            sys.stdout.flush()  # otherwise buffered output is printed twice
+            pid = os.fork()
+            if pid == 0:
+                # child: release the zygote's socket and start working
+                conn.close()
+                socket.close()
+                signal.signal(signal.SIGCHLD, signal.SIG_DFL)
+                exit_code = 0
+                try:
+                    worker_function(prepared)
+                except SystemExit as e:
+                    exit_code = e.code if isinstance(e.code, int) else 0
+                except BaseException:
+                    traceback.print_exc()
+                    exit_code = -1
+                finally:
+                    sys.stdout.flush()
+                    sys.stderr.flush()
+                    os._exit(exit_code)
+            if verbose: print(f"{ID} - Forked worker {pid}", flush=True)
+            conn.send((str({"status": "success", "pid": pid}) + "\n").encode())
+
+
+def __is_error(prepared):
+    return isinstance(prepared, dict) and prepared.get("status") == "error"
+
+
+def __prepare_loop(received_queue, prepared_queue, prepare_function):
+    """
+    Take received data from the queue and prepare it for the compute thread
+    """
+    while True:
+        conn, data = received_queue.get()
+        prepared = None if data is None else prepare_function(data)
+        prepared_queue.put((conn, prepared))  # blocks if the pipeline is full
+
+
+def __compute_loop(prepared_queue, answer_queue, compute_function, depth):
+    """
+    Take prepared data from the queue and compute the answers. All requests that are waiting are computed together
+    """
+    while True:
+        batch = [prepared_queue.get()]
+        while len(batch) < depth and batch[-1][1] is not None:
+            try:
+                batch.append(prepared_queue.get_nowait())
+            except queue.Empty:
+                break
+
+        to_compute = [prepared for conn, prepared in batch if prepared is not None and not __is_error(prepared)]
+        answers = []
+        try:
+            computed = iter(compute_function(to_compute) if to_compute else [])
+            for conn, prepared in batch:
+                if prepared is None or __is_error(prepared):
+                    answers.append((conn, prepared))
+                else:
+                    answers.append((conn, next(computed)))
+        except Exception as error:
+            traceback.print_exc()
+            error_answer = {"status": "error", "message": str(error) or type(error).__name__}
+            # requests that already have an answer (or a prepare error) keep it, only the others get the error
+            for conn, prepared in batch[len(answers):]:
+                answers.append((conn, prepared if prepared is None or __is_error(prepared) else error_answer))
+        for answer in answers:
+            answer_queue.put(answer)
+
+
+def __write_loop(answer_queue, verbose):
+    """
+    Send back answers (or an "OK" for the terminate signal) and close the connections
+    """
+    while True:
+        conn, answer = answer_queue.get()
+        with conn:
+            try:
+                if answer is None:
+                    conn.send("OK".encode())
+                    print(f"{ID} - Shutting down application...", flush=True)
+                    os._exit(0)
+                conn.sendall(str(answer).encode())
+            except Exception as error:
+                print(f"{ID} ERROR - Error sending answer: {error}", flush=True)
+        if verbose: print(f"{ID} - Answer sent")
+
+
 def __read_data(conn):
     '''
     Read bytes from a socket connection until we receive '}\n' (end of json input and newline)
@@ -44,6 +235,8 @@ def __read_data(conn):
     while True:
         try:
             next_bytes = conn.recv(4096)
+            if not next_bytes:
+                return None  # connection closed by client before all data was received
             bytes = bytes + next_bytes
             if bytes.endswith(b'}\n'):
                 break
@@ -63,7 +256,7 @@ def print_and_return_error(conn, custom_message, error):
     result = {}
     result["status"] = "error"
     result["message"] = custom_message + "\n" + str(error)
-    conn.send(result)
+    conn.send(str(result).encode())
 
 
 
@@ -21,6 +21,7 @@
 #  See also https://bitbucket.org/jhn-ngo/recsy-xx/src/master/src/engines/encoders/europeana-embeddings-api/
 #  Instead of a webserver, we changed the program into a command-line application communicating via a socket
 
+import gc
 import os
 import psutil
 import time
@@ -37,6 +38,8 @@ import torch
 
 # Global variables
 VERBOSE = False
+# maximum number of (padded) tokens embedded in one Laser call, 0 means all records are embedded in one call
+BUCKET_TOKENS = 12000
 PID = os.getpid()
 PROCESS = psutil.Process(PID)
 
@@ -45,24 +48,71 @@ if VERBOSE: print(f"{PID} - Working directory: {os.getcwd()}")
 #os.environ['CUDA_VISIBLE_DEVICES'] = '0'
 
 
-def process_arguments():
+def process_arguments(argv=None):
     global VERBOSE
+    global BUCKET_TOKENS
     if VERBOSE: print(f"{PID} - Parsing arguments...")
     parser = argparse.ArgumentParser(description='Argument parser for the Embeddings API')
     parser.add_argument("-p", "--port", required="true", type=int, help="Port number for listening socket", )
+    parser.add_argument("--host", default="127.0.0.1",
+                        help="Address to listen on. The default only allows local connections, use 0.0.0.0 to run as "
+                             "remote executor for Embeddings API instances on other hosts")
     parser.add_argument("-r", "--reload_after", type=int, default=10000,
-                        help="Reload the laser model after x amount of records (to prevent memory leak)")
+                        help="Reload the laser model after x amount of records (to prevent memory leak), 0 means never")
+    parser.add_argument("-d", "--pipeline_depth", type=int, default=1,
+                        help="Number of requests handled at the same time. With a depth larger than 1 the next request "
+                             "is read and prepared while the model is busy with the current one")
+    parser.add_argument("-b", "--bucket_tokens", type=int, default=BUCKET_TOKENS,
+                        help="Records are sorted by length and embedded in buckets of at most this many padded tokens "
+                             "(0 means no buckets)")
+    parser.add_argument("-t", "--threads", type=int, default=0,
+                        help="Number of threads used by torch for computations (0 means one per core)")
+    parser.add_argument("-c", "--cpu_slot", type=int, default=-1,
+                        help="Pin this process to its own set of cpus: the available cpus are divided in slots of "
+                             "'threads' cpus and this process uses the slot with this index (-1 means no pinning)")
+    parser.add_argument("-z", "--zygote", action="store_true",
+                        help="Load the models and then start worker processes (forks) on request, instead of answering "
+                             "embedding requests. The port is used for receiving requests to start a worker")
     parser.add_argument("-v", "--verbose", help="verbose output", action="store_true")
-    args, unknown = parser.parse_known_args()
+    args, unknown = parser.parse_known_args(argv)
     if VERBOSE and unknown: print(f"{PID} - Unknown arguments: {unknown}")
     try:
         if args.verbose:
             VERBOSE = True
-        return args.port, args.reload_after
+        BUCKET_TOKENS = args.bucket_tokens
+        if not args.zygote:
+            set_cpu_budget(args.threads, args.cpu_slot)
+        return args.host, args.port, args.reload_after, args.pipeline_depth, args.zygote
     except Exception as error:
         return printAndReturnError("Failed to parse input data: ", args.data + error)
 
 
+def set_cpu_budget(threads, cpu_slot):
+    """
+    Limit the number of threads used for computations and optionally pin this process to a set of cpus, so multiple
+    processes on the same machine don't compete for the same cores.
+    Note that OMP_NUM_THREADS and MKL_NUM_THREADS are only read when numpy and torch are loaded, so these should be set
+    in the environment by whoever starts this process.
+    :param threads: number of threads to use, 0 means no limit
+    :param cpu_slot: index of the set of 'threads' cpus to use, -1 means no pinning
+    """
+    if threads <= 0:
+        return
+    torch.set_num_threads(threads)
+    if cpu_slot >= 0 and hasattr(os, "sched_setaffinity"):
+        available = sorted(os.sched_getaffinity(0))
+        n_slots = max(1, len(available) // threads)
+        if cpu_slot >= n_slots:
+            print(f"{PID} - WARNING: cpu slot {cpu_slot} not available ({len(available)} cpus), sharing slot "
+                  f"{cpu_slot % n_slots}")
+        start = (cpu_slot % n_slots) * threads
+        cpus = available[start:start + threads]
+        # threads that are started later (e.g. by OpenMP) inherit the affinity
+        os.sched_setaffinity(0, cpus)
+        if VERBOSE: print(f"{PID} - Pinned to cpus {cpus}")
+    if VERBOSE: print(f"{PID} - Using {threads} threads")
+
+
 class LaserModelWithReload():
     """
     This is a wrapper for the Laser model. It reloads the model after a specified number of calls to prevent memory leak.
@@ -74,7 +124,7 @@ class LaserModelWithReload():
 
     def update(self, n_calls):
         self.n_calls += n_calls
-        if self.n_calls >= self.reload_after:
+        if 0 < self.reload_after <= self.n_calls:
             start = time.time()
             self.model = None
             self.model = Laser()
@@ -199,6 +249,15 @@ def transform_record(record, return_format="string", field_map=FIELD_MAP):
         return new_record["id"], clean_textlist([new_record[k] for k in sorted(set(FIELD_MAP.values()))])
 
 
+def transform_records(records):
+    """
+    Transforms a list of original records into a list of text strings that can be embedded
+    :param records: list of records
+    :return: list of text strings
+    """
+    return [transform_record(record, return_format="string") for record in records]
+
+
 def process_records(records_with_reduced_structure,
                     steps=["laser", "reduce", "normalize"]):
     """
@@ -212,17 +271,76 @@ def process_records(records_with_reduced_structure,
     :return: list of record embeddings (numpy array)
     """
     #if VERBOSE: print(f"{PID} - Processing records...")
-    transformed_records = [transform_record(record, return_format="string") for record in
-                           records_with_reduced_structure]
-    if "laser" in steps:
-        processed_records = LASER.model.embed_sentences(transformed_records, lang="en")
+    return embed_texts(transform_records(records_with_reduced_structure), steps)
+
+
+def text_length(transformed_record):
+    """
+    Approximates the tokenized length of a transformed record. Note that we count words, whereas Laser uses BPE tokens
+    :param transformed_record: transformed record, see transform_record
+    :return: approximate number of tokens
+    """
+    text = transformed_record[1] if isinstance(transformed_record, tuple) else transformed_record
+    return max(1, len(str(text).split()))
+
+
+def make_buckets(transformed_records, bucket_tokens=BUCKET_TOKENS):
+    """
+    Sorts records by length and groups them in buckets of records with similar length, so Laser has to add as little
+    padding as possible (it pads each batch to its longest sentence).
+    :param transformed_records: list of transformed records, see transform_record
+    :param bucket_tokens: maximum number of padded tokens in a bucket, 0 means only 1 bucket
+    :return: tuple (list of buckets where each bucket is a list of indices in transformed_records, batch statistics)
+    """
+    lengths = [text_length(record) for record in transformed_records]
+    buckets = []
+    bucket = []
+    # sorted by descending length, so the first record in a bucket is the longest
+    for i in sorted(range(len(lengths)), key=lambda i: lengths[i], reverse=True):
+        if bucket and bucket_tokens > 0 and lengths[bucket[0]] * (len(bucket) + 1) > bucket_tokens:
+            buckets.append(bucket)
+            bucket = []
+        bucket.append(i)
+    if bucket:
+        buckets.append(bucket)
+    stats = {"records": len(lengths),
+             "buckets": len(buckets),
+             "tokens": sum(lengths),
+             "padded_tokens": sum(lengths[b[0]] * len(b) for b in buckets),
+             "unbucketed_padded_tokens": max(lengths, default=0) * len(lengths)}
+    return buckets, stats
+
+
+def embed_texts(transformed_records, steps=["laser", "reduce", "normalize"]):
+    """
+    This function transforms a list of records (already transformed to text strings) into embeddings.
+    :param transformed_records: list of text strings, see transform_records
+    :param steps: see process_records
+    :return: list of record embeddings (numpy array)
+    """
+    return embed_texts_bucketed(transformed_records, steps)[0]
+
+
+def embed_texts_bucketed(transformed_records, steps=["laser", "reduce", "normalize"]):
+    """
+    Same as embed_texts, but also returns statistics about the length buckets that were used (see make_buckets)
+    :return: tuple (list of record embeddings in the same order as the input, batch statistics)
+    """
+    buckets, stats = make_buckets(transformed_records, BUCKET_TOKENS)
+    if "laser" in steps and transformed_records:
+        processed_records = [None] * len(transformed_records)
+        for bucket in buckets:
+            embeddings = LASER.model.embed_sentences([transformed_records[i] for i in bucket], lang="en")
+            for i, embedding in zip(bucket, embeddings):
+                processed_records[i] = embedding  # restore original order
+        processed_records = np.array(processed_records)
         LASER.update(len(processed_records))
         if "reduce" in steps:
             processed_records = REDUCE_MODEL.transform(processed_records)
             if "normalize" in steps:
                 processed_records = [normalize_vector(embedding) for embedding in processed_records]
-        return processed_records
-    return []
+        return processed_records, stats
+    return [], stats
 
 
 def recordobj(record):
@@ -244,8 +362,17 @@ class EmbeddingsResource():
         API function to parse input records and produce the embeddings.
         :return:
         """
+        prepared = EmbeddingsResource.prepare(dataString)
+        if prepared.get("status") == "error":
+            return prepared
+        return EmbeddingsResource.compute([prepared])[0]
+
+    def prepare(dataString):
+        """
+        Parse input records and transform them to text, so they are ready to be embedded
+        :return: dictionary with the records and their texts, or an error dictionary
+        """
         try:
-            result = {}
             data = json.loads(dataString)
             try:
                 records = data["records"]
@@ -255,21 +382,46 @@ class EmbeddingsResource():
                 return printAndReturnError("Could not find records field")
             if len(records) > 500:
                 return printAndReturnError("Too many records (max is 500)")
+            return {"records": records, "texts": transform_records(records)}
+        except Exception as error:
+            traceback.print_exc()
+            return printAndReturnError(error)
 
+    def compute(prepared_list):
+        """
+        Produce the embeddings for one or more prepared requests. The texts of all requests are embedded together.
+        :param prepared_list: list of prepared requests, see prepare
+        :return: list with a result for each prepared request
+        """
+        try:
             steps = ["laser", "reduce", "normalize"]
             #if VERBOSE: print(f"Executing the following steps: {steps}")
 
+            texts = [text for prepared in prepared_list for text in prepared["texts"]]
             start = time.time()
-            embeddings = process_records(records, steps=steps)
+            embeddings, stats = embed_texts_bucketed(texts, steps=steps)
             end = time.time()
-            if VERBOSE: print(f"{PID} - Processed {len(records)} records in {abs(start - end)} sec. Mem usage: {print_memory()}")
-            result["data"] = [{"id": record["id"], "embedding": embeddings[i].tolist()} for i, record in
-                              enumerate(records)]
-            result["status"] = "success"
-            return result
+            stats["requests"] = len(prepared_list)
+            stats["compute_ms"] = round((end - start) * 1000, 1)
+            if VERBOSE: print(f"{PID} - Processed {len(texts)} records ({len(prepared_list)} requests, "
+                              f"{stats['buckets']} buckets) in {abs(start - end)} sec. Mem usage: {print_memory()}")
+            results = []
+            offset = 0
+            for index, prepared in enumerate(prepared_list):
+                records = prepared["records"]
+                result = {}
+                result["data"] = [{"id": record["id"], "embedding": embeddings[offset + i].tolist()} for i, record in
+                                  enumerate(records)]
+                result["status"] = "success"
+                if index == 0:
+                    # statistics of the whole (coalesced) batch, only sent once so they are recorded once per batch
+                    result["batch"] = stats
+                results.append(result)
+                offset += len(records)
+            return results
         except Exception as error:
             traceback.print_exc()
-            return printAndReturnError(error)
+            return [printAndReturnError(error) for prepared in prepared_list]
 
 
 def printAndReturnError(error):
@@ -280,33 +432,81 @@ def printAndReturnError(error):
     return result
 
 
-if __name__ == '__main__':
-    port, reload_after = process_arguments()
-    if VERBOSE: print(f"{PID} - torch.cuda.is_available = {torch.cuda.is_available()}")
-    load_models(reload_after)
+BIND_RETRY_INTERVAL = 0.5  # seconds
+BIND_RETRY_TIMEOUT = 10  # seconds
+
 
+def bind_socket(host, port):
     s = socket.socket()
     s.setsockopt(socket.SOL_SOCKET, socket.SO_REUSEADDR, 1)
-    try:
-        # It can take a second or 2 for a port to be released after shutdown
-        s.bind(('127.0.0.1', port))  # only allow local connections
-    except Exception as error:
-        if str(error).endswith("Address already in use"):
-            print(f"{PID} - Port {port} in use, retrying in 10 seconds...")
-            time.sleep(10)
-            try:
-                s.bind(('127.0.0.1', port))  # retry
-            except:
+    # It can take a moment for a port to be released after shutdown, so retry often to take over as soon as possible
+    deadline = time.time() + BIND_RETRY_TIMEOUT
+    while True:
+        try:
+            s.bind((host, port))  # by default only allow local connections
+            return s
+        except Exception as error:
+            if not str(error).endswith("Address already in use"):
+                printAndReturnError(error)
+                exit(-1)
+            if time.time() >= deadline:
                 printAndReturnError(f"Failed to bind port {port}")
                 exit(-1)
-        else:
-            printAndReturnError(error)
-            exit(-1)
+            print(f"{PID} - Port {port} in use, retrying...")
+            time.sleep(BIND_RETRY_INTERVAL)
+
 
+def serve(host, port, pipeline_depth):
+    s = bind_socket(host, port)
+    if pipeline_depth > 1:
+        answering_socket.socket_listen_pipelined(s, EmbeddingsResource.prepare, EmbeddingsResource.compute, VERBOSE,
+                                                 PID, pipeline_depth)
     while True:
         answering_socket.socket_listen(s, EmbeddingsResource.process, VERBOSE, PID)
 
 
+class Zygote:
+    """
+    Handles requests to start a new worker, forked from this process so it shares the loaded models
+    """
+    @staticmethod
+    def prepare(dataString):
+        """
+        Read the command-line arguments for the new worker, e.g. {"spawn": ["--port=12001", "--reload_after=0"]}
+        :return: list of arguments, or an error dictionary
+        """
+        try:
+            arguments = json.loads(dataString)["spawn"]
+            if not isinstance(arguments, list):
+                return printAndReturnError("Field spawn should contain a list of arguments")
+            return arguments
+        except Exception as error:
+            return printAndReturnError(f"Invalid spawn request: {error}")
+
+    @staticmethod
+    def work(arguments):
+        """
+        Runs in the forked worker process: apply the worker arguments and start answering embedding requests
+        """
+        global PID
+        global PROCESS
+        PID = os.getpid()
+        PROCESS = psutil.Process(PID)
+        host, port, reload_after, pipeline_depth, zygote = process_arguments(arguments)
+        LASER.reload_after = reload_after
+        if VERBOSE: print(f"{PID} - Worker forked from zygote, {print_memory()}")
+        serve(host, port, pipeline_depth)
 
-    
 
+if __name__ == '__main__':
+    host, port, reload_after, pipeline_depth, zygote = process_arguments()
+    if VERBOSE: print(f"{PID} - torch.cuda.is_available = {torch.cuda.is_available()}")
+    if zygote:
+        # the zygote itself never embeds anything, so its copy of the models is never modified and all workers can
+        # share its memory pages
+        load_models(0)
+        if hasattr(gc, "freeze"):
+            gc.freeze()  # Python 3.7+: keep the garbage collector from touching (and so copying) the shared objects
+        answering_socket.socket_listen_zygote(bind_socket(host, port), Zygote.prepare, Zygote.work, VERBOSE, PID)
+    load_models(reload_after)
+    serve(host, port, pipeline_depth)
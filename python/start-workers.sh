@@ -0,0 +1,20 @@
+#!/bin/bash
+# Starts one or more Embeddings python processes that listen on all network interfaces, so they can be used as remote
+# executors by Embeddings API instances on other hosts (see executor.remote.hosts in embedding.properties).
+# Usage: ./start-workers.sh [number of workers] [first port] [pipeline depth] [threads per worker]
+# By default the cpus are divided evenly between the workers and each worker is pinned to its own cpus (see also
+# benchmark-layout.py)
+NR_WORKERS=${1:-1}
+FIRST_PORT=${2:-12001}
+PIPELINE_DEPTH=${3:-2}
+THREADS=${4:-$(( $(nproc) / NR_WORKERS > 0 ? $(nproc) / NR_WORKERS : 1 ))}
+export OMP_NUM_THREADS=$THREADS MKL_NUM_THREADS=$THREADS OPENBLAS_NUM_THREADS=$THREADS
+
+cd ./embeddings-python
+for ((i = 0; i < NR_WORKERS; i++)); do
+  PORT=$((FIRST_PORT + i))
+  echo "Starting worker on port $PORT"
+  python3 ./europeana_embeddings_cmd.py --host=0.0.0.0 --port=$PORT --pipeline_depth=$PIPELINE_DEPTH --reload_after=0 \
+    --threads=$THREADS --cpu_slot=$i &
+done
+wait
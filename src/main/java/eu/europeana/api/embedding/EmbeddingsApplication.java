@@ -1,22 +1,37 @@
 package eu.europeana.api.embedding;
 
+import eu.europeana.api.embedding.batch.BatchEmbedder;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application. Allows deploying as a war and logs instance data when deployed in Cloud Foundry
  */
 @SpringBootApplication(scanBasePackages = "eu.europeana.api.embedding")
+@EnableScheduling
 public class EmbeddingsApplication extends SpringBootServletInitializer {
 
     /**
-     * Main entry point of this application
+     * Main entry point of this application. If a batch input file is provided (--batch.input argument or BATCH_INPUT
+     * environment variable) the application runs in batch mode: it processes the input file without starting a web
+     * server and exits when done
      * @param args command-line arguments
      */
     public static void main(String[] args) {
-        SpringApplication.run(EmbeddingsApplication.class, args);
+        String[] arguments = BatchEmbedder.normalizeArguments(args);
+        if (BatchEmbedder.isBatchMode(arguments)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(EmbeddingsApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles(BatchEmbedder.PROFILE)
+                    .run(arguments);
+            System.exit(SpringApplication.exit(context));
+        }
+        SpringApplication.run(EmbeddingsApplication.class, arguments);
     }
 
     @Override
@@ -0,0 +1,383 @@
+package eu.europeana.api.embedding.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import eu.europeana.api.embedding.exception.ConfigurationException;
+import eu.europeana.api.embedding.exception.ExecutorException;
+import eu.europeana.api.embedding.service.EmbeddingsService;
+import eu.europeana.api.embedding.service.RequestPriority;
+import eu.europeana.api.recommend.common.model.EmbeddingRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Offline batch mode: reads records from a (large) file with one json record per line, generates the vectors using
+ * the same executor pool as the API and writes them to file. Enough requests are kept in flight to keep all executors
+ * busy, while the results are written in the same order as the input.
+ * Progress is saved regularly in a checkpoint file, so an interrupted run continues where it stopped.
+ */
+@Component
+@Profile(BatchEmbedder.PROFILE)
+public class BatchEmbedder implements ApplicationRunner, ExitCodeGenerator {
+
+    /** Spring profile that is activated in batch mode */
+    public static final String PROFILE = "batch";
+
+    private static final Logger LOG = LogManager.getLogger(BatchEmbedder.class);
+
+    private static final String INPUT_OPTION = "--batch.input";
+    private static final String INPUT_PROPERTY = "batch.input";
+    private static final String INPUT_VARIABLE = "BATCH_INPUT";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_WAIT = 5000; // milliseconds
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private static final String CHECKPOINT_INPUT = "input";
+    private static final String CHECKPOINT_FORMAT = "format";
+    private static final String CHECKPOINT_LINES = "lines";
+    private static final String CHECKPOINT_VECTORS = "vectors";
+    private static final String CHECKPOINT_POSITIONS = "positions";
+
+    private final EmbeddingsService embeddingsService;
+    private final EmbeddingSettings settings;
+    private final ObjectMapper mapper;
+
+    private int exitCode;
+
+    // progress
+    private long startTime;
+    private long lastProgress;
+    private long linesDone;
+    private long vectorsWritten;
+    private long vectorsThisRun;
+    private long invalidLines;
+
+    /**
+     * A request that is being processed
+     * @param lastLine the line number of the last input line in this batch
+     * @param size the number of records in this batch
+     * @param result the generated vectors
+     */
+    private record Batch(long lastLine, int size, Future<JsonNode> result) {
+    }
+
+    /**
+     * Initialize a new batch embedder
+     * @param embeddingsService service for generating the vectors
+     * @param settings application settings
+     */
+    public BatchEmbedder(EmbeddingsService embeddingsService, EmbeddingSettings settings) {
+        this.embeddingsService = embeddingsService;
+        this.settings = settings;
+        this.mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * @param args command-line arguments
+     * @return true if the application should run in batch mode (an input file is provided as argument, system
+     * property or BATCH_INPUT environment variable)
+     */
+    public static boolean isBatchMode(String[] args) {
+        return isBatchMode(args, System.getenv(INPUT_VARIABLE))
+                || StringUtils.isNotBlank(System.getProperty(INPUT_PROPERTY));
+    }
+
+    /**
+     * @param args command-line arguments
+     * @param inputVariable value of the BATCH_INPUT environment variable
+     * @return true if the application should run in batch mode
+     */
+    static boolean isBatchMode(String[] args, String inputVariable) {
+        if (StringUtils.isNotBlank(inputVariable)) {
+            return true;
+        }
+        return Arrays.stream(normalizeArguments(args))
+                .anyMatch(arg -> arg.startsWith(INPUT_OPTION + "=") && arg.length() > INPUT_OPTION.length() + 1);
+    }
+
+    /**
+     * Spring only understands options in the form --name=value, so a --batch.input option followed by the file as
+     * separate argument is joined into one argument
+     * @param args command-line arguments
+     * @return command-line arguments with the input file option in the form --batch.input=&lt;file&gt;
+     */
+    public static String[] normalizeArguments(String[] args) {
+        List<String> result = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            if (INPUT_OPTION.equals(args[i]) && i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                result.add(INPUT_OPTION + "=" + args[++i]);
+            } else {
+                result.add(args[i]);
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws EuropeanaApiException, IOException {
+        if (StringUtils.isBlank(settings.getBatchInput()) || StringUtils.isBlank(settings.getBatchOutput())) {
+            throw new ConfigurationException("Batch mode requires options batch.input and batch.output");
+        }
+        Path input = Path.of(settings.getBatchInput());
+        Path output = Path.of(settings.getBatchOutput()).toAbsolutePath();
+        BatchOutput.Format format = getFormat();
+        Files.createDirectories(output.getParent());
+
+        Properties checkpoint = settings.isBatchResume() ? loadCheckpoint(output, input, format) : null;
+        long[] positions = null;
+        if (checkpoint != null) {
+            linesDone = Long.parseLong(checkpoint.getProperty(CHECKPOINT_LINES));
+            vectorsWritten = Long.parseLong(checkpoint.getProperty(CHECKPOINT_VECTORS));
+            positions = Arrays.stream(checkpoint.getProperty(CHECKPOINT_POSITIONS).split(","))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+            LOG.info("Resuming from checkpoint: {} input lines done, {} vectors written", linesDone, vectorsWritten);
+        }
+
+        LOG.info("Generating vectors for {} using {} executor slots", input, embeddingsService.getCapacity());
+        startTime = System.currentTimeMillis();
+        lastProgress = startTime;
+        try (BufferedReader reader = openInput(input);
+             BatchOutput out = new BatchOutput(output, format, positions)) {
+            boolean completed = process(reader, out, output, input, format);
+            saveCheckpoint(output, input, format, out.sync());
+            logProgress(completed ? "Finished" : "Stopped");
+            exitCode = completed ? 0 : 1;
+        }
+    }
+
+    private BatchOutput.Format getFormat() throws ConfigurationException {
+        try {
+            return BatchOutput.Format.valueOf(settings.getBatchFormat().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException("Unknown batch.format " + settings.getBatchFormat()
+                    + ", supported are binary and ndjson");
+        }
+    }
+
+    private static BufferedReader openInput(Path input) throws IOException {
+        InputStream in = Files.newInputStream(input);
+        if (input.toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, READ_BUFFER_SIZE);
+        }
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        return new BufferedReader(reader, READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Read all records, send them in batches to the executors and write the results in order
+     * @return true if all records were processed, false if we stopped because a batch failed
+     */
+    private boolean process(BufferedReader reader, BatchOutput out, Path output, Path input, BatchOutput.Format format)
+            throws IOException {
+        int batchSize = Math.max(1, settings.getBatchRecordsPerRequest());
+        // twice the number of requests the executors can handle, so the next request is ready when one finishes
+        int maxInFlight = Math.max(2, 2 * embeddingsService.getCapacity());
+        ExecutorService threads = Executors.newFixedThreadPool(maxInFlight);
+        Deque<Batch> inFlight = new ArrayDeque<>();
+        try {
+            long lineNr = 0;
+            List<EmbeddingRecord> records = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNr++;
+                if (lineNr <= linesDone) {
+                    continue;
+                }
+                EmbeddingRecord embeddingRecord = parse(line, lineNr);
+                if (embeddingRecord != null) {
+                    records.add(embeddingRecord);
+                }
+                if (records.size() >= batchSize) {
+                    inFlight.add(submit(threads, records, lineNr));
+                    records = new ArrayList<>(batchSize);
+                }
+                while (inFlight.size() >= maxInFlight || (!inFlight.isEmpty() && inFlight.peek().result().isDone())) {
+                    if (!write(inFlight.poll(), out, output, input, format)) {
+                        return false;
+                    }
+                }
+            }
+            if (!records.isEmpty()) {
+                inFlight.add(submit(threads, records, lineNr));
+            }
+            while (!inFlight.isEmpty()) {
+                if (!write(inFlight.poll(), out, output, input, format)) {
+                    return false;
+                }
+            }
+            // trailing blank or invalid lines
+            linesDone = Math.max(linesDone, lineNr);
+            return true;
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private EmbeddingRecord parse(String line, long lineNr) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return mapper.readValue(line, EmbeddingRecord.class);
+        } catch (JsonProcessingException e) {
+            LOG.warn("Skipping invalid record on line {}: {}", lineNr, e.getOriginalMessage());
+            invalidLines++;
+            return null;
+        }
+    }
+
+    private Batch submit(ExecutorService threads, List<EmbeddingRecord> records, long lastLine) {
+        EmbeddingRecord[] batch = records.toArray(new EmbeddingRecord[0]);
+        return new Batch(lastLine, batch.length, threads.submit(() -> embed(batch)));
+    }
+
+    /**
+     * Generate vectors for one batch, retrying a few times if that fails (e.g. because an executor is replaced)
+     */
+    private JsonNode embed(EmbeddingRecord[] records) throws EuropeanaApiException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                JsonNode data = embeddingsService.generateVectors(records, RequestPriority.BULK);
+                if (data == null || data.size() != records.length) {
+                    throw new ExecutorException("Expected " + records.length + " vectors, but got "
+                            + (data == null ? 0 : data.size()), false);
+                }
+                return data;
+            } catch (EuropeanaApiException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                LOG.warn("Batch of {} records failed (attempt {} of {}), retrying: {}", records.length, attempt,
+                        MAX_ATTEMPTS, e.getMessage());
+                Thread.sleep(RETRY_WAIT);
+            }
+        }
+    }
+
+    /**
+     * Wait for the result of a batch and write it
+     * @return false if the batch failed
+     */
+    private boolean write(Batch batch, BatchOutput out, Path output, Path input, BatchOutput.Format format)
+            throws IOException {
+        try {
+            vectorsThisRun += out.write(batch.result().get());
+        } catch (ExecutionException e) {
+            LOG.error("Batch of {} records ending at line {} failed, stopping", batch.size(), batch.lastLine(),
+                    e.getCause());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting for batch ending at line {}, stopping", batch.lastLine());
+            return false;
+        }
+        vectorsWritten += batch.size();
+        linesDone = batch.lastLine();
+
+        long now = System.currentTimeMillis();
+        if (now - lastProgress >= settings.getBatchProgressInterval()) {
+            saveCheckpoint(output, input, format, out.sync());
+            logProgress("Progress");
+            lastProgress = now;
+        }
+        return true;
+    }
+
+    private void logProgress(String prefix) {
+        double seconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000.0;
+        LOG.info("{}: {} input lines done, {} vectors written ({} this run in {} s, {} records/s), {} invalid lines",
+                prefix, linesDone, vectorsWritten, vectorsThisRun, Math.round(seconds),
+                String.format(Locale.ROOT, "%.1f", vectorsThisRun / seconds), invalidLines);
+    }
+
+    private static Path getCheckpointFile(Path output) {
+        return Path.of(output + ".checkpoint");
+    }
+
+    /**
+     * Load the checkpoint of a previous run (if any)
+     * @return the checkpoint, or null if there is none
+     * @throws ConfigurationException when the checkpoint belongs to a different input file or output format
+     */
+    private static Properties loadCheckpoint(Path output, Path input, BatchOutput.Format format)
+            throws IOException, ConfigurationException {
+        Path file = getCheckpointFile(output);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties result = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            result.load(reader);
+        }
+        if (!input.toAbsolutePath().toString().equals(result.getProperty(CHECKPOINT_INPUT))
+                || !format.name().equals(result.getProperty(CHECKPOINT_FORMAT))) {
+            throw new ConfigurationException("Checkpoint " + file + " belongs to input " +
+                    result.getProperty(CHECKPOINT_INPUT) + " (" + result.getProperty(CHECKPOINT_FORMAT) +
+                    "), remove it or set batch.resume=false to start again");
+        }
+        return result;
+    }
+
+    /**
+     * Save progress. The output files should be synced first, so the checkpoint never refers to data that isn't on
+     * disk. The file is replaced atomically, so we never read a partially written checkpoint.
+     */
+    private void saveCheckpoint(Path output, Path input, BatchOutput.Format format, long[] positions)
+            throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty(CHECKPOINT_INPUT, input.toAbsolutePath().toString());
+        checkpoint.setProperty(CHECKPOINT_FORMAT, format.name());
+        checkpoint.setProperty(CHECKPOINT_LINES, String.valueOf(linesDone));
+        checkpoint.setProperty(CHECKPOINT_VECTORS, String.valueOf(vectorsWritten));
+        checkpoint.setProperty(CHECKPOINT_POSITIONS, Arrays.stream(positions)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(",")));
+        Path file = getCheckpointFile(output);
+        Path temp = Path.of(file + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            checkpoint.store(writer, "Batch embedding progress");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+}
@@ -0,0 +1,141 @@
+package eu.europeana.api.embedding.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europeana.api.embedding.service.SimilarityService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes generated vectors to file, either as
+ * <ul>
+ *     <li>binary: a .vectors file with all vectors as little-endian float32 values one after the other and an .ids
+ *     file with the record id of each vector (one per line, in the same order), or</li>
+ *     <li>ndjson: a .ndjson file with one {"id": ..., "embedding": [...]} json object per line.</li>
+ * </ul>
+ * Files can be reopened at a previous position (as returned by sync()) to resume an interrupted run.
+ */
+public class BatchOutput implements Closeable {
+
+    /** Supported output formats */
+    public enum Format { BINARY, NDJSON }
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_EMBEDDING = "embedding";
+
+    private final Format format;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final FileChannel vectorsOrNdjson;
+    private final FileChannel ids;
+    private int dimension;
+
+    /**
+     * Open the output files
+     * @param output path and base name of the output files (extensions are added)
+     * @param format output format
+     * @param positions byte positions to continue writing from (truncating anything after that), null to start new
+     *                  files
+     * @throws IOException when the files can't be opened
+     */
+    public BatchOutput(Path output, Format format, long[] positions) throws IOException {
+        this.format = format;
+        if (format == Format.BINARY) {
+            this.vectorsOrNdjson = open(Path.of(output + ".vectors"), positions == null ? -1 : positions[0]);
+            this.ids = open(Path.of(output + ".ids"), positions == null ? -1 : positions[1]);
+        } else {
+            this.vectorsOrNdjson = open(Path.of(output + ".ndjson"), positions == null ? -1 : positions[0]);
+            this.ids = null;
+        }
+    }
+
+    private static FileChannel open(Path file, long position) throws IOException {
+        if (position < 0) {
+            return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        FileChannel result = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // remove anything that was written after the last checkpoint
+        result.truncate(position);
+        result.position(position);
+        return result;
+    }
+
+    /**
+     * Write the vectors of an embeddings response
+     * @param data the data array of an embeddings response, containing objects with an 'id' and 'embedding' field
+     * @return the number of written vectors
+     * @throws IOException when there's a problem writing
+     */
+    public int write(JsonNode data) throws IOException {
+        if (format == Format.NDJSON) {
+            StringBuilder lines = new StringBuilder();
+            for (JsonNode item : data) {
+                lines.append(mapper.writeValueAsString(item)).append('\n');
+            }
+            writeFully(vectorsOrNdjson, ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+            return data.size();
+        }
+
+        StringBuilder idLines = new StringBuilder();
+        ByteBuffer vectors = null;
+        for (JsonNode item : data) {
+            float[] vector = SimilarityService.toVector(item.get(FIELD_EMBEDDING));
+            if (vector == null) {
+                throw new IOException("No embedding for record " + item.path(FIELD_ID).asText());
+            }
+            if (dimension == 0) {
+                dimension = vector.length;
+            } else if (vector.length != dimension) {
+                throw new IOException("Expected vectors with " + dimension + " dimensions, but got " + vector.length);
+            }
+            if (vectors == null) {
+                vectors = ByteBuffer.allocate(data.size() * dimension * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            for (float value : vector) {
+                vectors.putFloat(value);
+            }
+            idLines.append(item.path(FIELD_ID).asText()).append('\n');
+        }
+        if (vectors != null) {
+            vectors.flip();
+            writeFully(vectorsOrNdjson, vectors);
+            writeFully(ids, ByteBuffer.wrap(idLines.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+        return data.size();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Make sure everything written so far is stored on disk
+     * @return the current byte positions of the output files, to be stored in a checkpoint
+     * @throws IOException when there's a problem flushing the data
+     */
+    public long[] sync() throws IOException {
+        vectorsOrNdjson.force(false);
+        if (ids == null) {
+            return new long[] {vectorsOrNdjson.position()};
+        }
+        ids.force(false);
+        return new long[] {vectorsOrNdjson.position(), ids.position()};
+    }
+
+    @Override
+    public void close() throws IOException {
+        vectorsOrNdjson.close();
+        if (ids != null) {
+            ids.close();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package eu.europeana.api.embedding.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes captured requests to gzipped files with one json object per line. Requests are queued and written by a
+ * background thread, so capturing doesn't slow down request processing. When the queue is full new requests are
+ * dropped. A new file is started when the current file reaches the maximum size and only the newest files are kept.
+ */
+public class CaptureWriter implements Closeable {
+
+    /** Extension of capture files */
+    public static final String FILE_EXTENSION = ".ndjson.gz";
+
+    private static final Logger LOG = LogManager.getLogger(CaptureWriter.class);
+
+    private static final String FILE_PREFIX = "capture-";
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int QUEUE_SIZE = 1000;
+    private static final long STOP_WAIT_TIME = 5; // seconds
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BlockingQueue<CapturedRequest> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final Thread writerThread;
+
+    private int fileNr;
+    private CountingOutputStream fileOut;
+    private OutputStream out;
+    private volatile boolean stopped;
+
+    /**
+     * Start a new capture writer
+     * @param directory the folder where capture files are written, is created if it doesn't exist
+     * @param maxFileSize maximum size of a capture file in bytes
+     * @param maxFiles maximum number of capture files to keep
+     * @throws IOException when the directory can't be created
+     */
+    public CaptureWriter(Path directory, long maxFileSize, int maxFiles) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = Math.max(1, maxFiles);
+        this.writerThread = new Thread(this::writeLoop, "request-capture");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queue a request for writing
+     * @param request the request to write
+     * @return false if the request was dropped because the queue is full
+     */
+    public boolean offer(CapturedRequest request) {
+        return !stopped && queue.offer(request);
+    }
+
+    private void writeLoop() {
+        while (!stopped || !queue.isEmpty()) {
+            try {
+                CapturedRequest request = queue.poll(1, TimeUnit.SECONDS);
+                if (request != null) {
+                    write(request);
+                    if (queue.isEmpty()) {
+                        // make sure the data can be read while we're still writing
+                        out.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                LOG.error("Error writing captured request", e);
+                closeFile();
+            }
+        }
+        closeFile();
+    }
+
+    private void write(CapturedRequest request) throws IOException {
+        if (out == null || fileOut.getCount() >= maxFileSize) {
+            closeFile();
+            openFile();
+        }
+        out.write(mapper.writeValueAsBytes(request));
+        out.write('\n');
+    }
+
+    private void openFile() throws IOException {
+        Path file = directory.resolve(FILE_PREFIX + LocalDateTime.now().format(FILE_DATE_FORMAT)
+                + String.format("-%04d", fileNr++ % 10_000) + FILE_EXTENSION);
+        LOG.info("Capturing requests in {}", file);
+        fileOut = new CountingOutputStream(Files.newOutputStream(file));
+        out = new GZIPOutputStream(fileOut, 64 * 1024, true);
+        removeOldFiles();
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing capture file", e);
+            }
+            out = null;
+        }
+    }
+
+    private void removeOldFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().startsWith(FILE_PREFIX)
+                            && file.getFileName().toString().endsWith(FILE_EXTENSION))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            LOG.debug("Removing old capture file {}", files.get(i));
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * Write all queued requests and close the current file
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(STOP_WAIT_TIME));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Keeps track of the number of bytes written to a file
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package eu.europeana.api.embedding.capture;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A captured request, as stored in a capture file (one json object per line). The body is stored as base64.
+ * @param time the time the request was received (epoch milliseconds)
+ * @param duration the time it took to process the request in milliseconds
+ * @param status the http status of the response
+ * @param path the request path
+ * @param query optional, the query string
+ * @param contentType optional, the content type of the body
+ * @param priority optional, value of the priority header
+ * @param timeout optional, value of the timeout header
+ * @param body the (decompressed) request body
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CapturedRequest(long time, long duration, int status, String path, String query, String contentType,
+                              String priority, String timeout, byte[] body) {
+}
@@ -0,0 +1,238 @@
+package eu.europeana.api.embedding.capture;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.europeana.api.embedding.web.EmbeddingsController;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command-line tool that replays captured requests (see RequestCaptureFilter) against a running Embedding API and
+ * reports throughput and latency percentiles. Requests are sent with the same relative timing as they were captured,
+ * optionally sped up or slowed down. The report can be saved and compared with the report of a previous run, e.g.
+ * to check a new build for performance regressions.
+ */
+@SuppressWarnings("java:S106") // this is a command-line tool, so we print to System.out
+public final class ReplayTool {
+
+    private static final String USAGE = """
+            Usage: ReplayTool <capture file or folder> <base url> [options]
+              --speed=<factor>    replay speed compared to the original traffic (default 1, 0 = as fast as possible)
+              --concurrency=<n>   maximum number of requests in flight (default 32)
+              --report=<file>     save the report (json) to this file
+              --compare=<file>    compare with the saved report of a previous run
+            """;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private ReplayTool() {
+        // use main method
+    }
+
+    /**
+     * Replay captured requests
+     * @param args command-line arguments, see usage
+     * @throws IOException when there's a problem reading the captured requests or writing the report
+     * @throws InterruptedException when interrupted while replaying
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<String> positional = new ArrayList<>();
+        Map<String, String> options = new TreeMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() != 2) {
+            System.out.print(USAGE);
+            System.exit(1);
+        }
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+
+        ReplayTool tool = new ReplayTool();
+        List<CapturedRequest> requests = tool.load(Path.of(positional.get(0)));
+        System.out.printf(Locale.ROOT, "Replaying %d requests against %s (speed %s, concurrency %d)%n",
+                requests.size(), positional.get(1), speed == 0 ? "max" : speed, concurrency);
+        Map<String, Object> report = tool.replay(requests, positional.get(1), speed, concurrency);
+        print(report);
+
+        if (options.containsKey("report")) {
+            tool.mapper.writeValue(Path.of(options.get("report")).toFile(), report);
+        }
+        if (options.containsKey("compare")) {
+            Map<String, Object> previous = tool.mapper.readValue(Path.of(options.get("compare")).toFile(),
+                    new TypeReference<>() {});
+            printDiff(previous, report);
+        }
+    }
+
+    /**
+     * Load all captured requests from a file or all capture files in a folder, ordered by time
+     */
+    private List<CapturedRequest> load(Path path) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> list = Files.list(path)) {
+                files = list.filter(file -> file.toString().endsWith(CaptureWriter.FILE_EXTENSION)).sorted().toList();
+            }
+        } else {
+            files = List.of(path);
+        }
+        List<CapturedRequest> result = new ArrayList<>();
+        for (Path file : files) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file));
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    result.add(mapper.readValue(line, CapturedRequest.class));
+                }
+            } catch (EOFException e) {
+                // the file that is currently being written is not complete, we use what we could read
+                System.out.println("Capture file " + file + " is incomplete, using the first part only");
+            }
+        }
+        result.sort(Comparator.comparingLong(CapturedRequest::time));
+        return result;
+    }
+
+    private Map<String, Object> replay(List<CapturedRequest> requests, String baseUrl, double speed, int concurrency)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[requests.size()];
+        int[] statuses = new int[requests.size()];
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests.size());
+
+        long firstTime = requests.isEmpty() ? 0 : requests.get(0).time();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests.size(); i++) {
+            CapturedRequest captured = requests.get(i);
+            if (speed > 0) {
+                long due = start + (long) (TimeUnit.MILLISECONDS.toNanos(captured.time() - firstTime) / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(toHttpRequest(captured, baseUrl), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        statuses[index] = error == null ? response.statusCode() : 0;
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", requests.size());
+        report.put("errors", Arrays.stream(statuses).filter(status -> status == 0 || status >= 400).count());
+        report.put("duration_s", round(seconds));
+        report.put("throughput_rps", round(requests.size() / Math.max(seconds, 0.001)));
+        long[] sortedLatencies = Arrays.stream(latencies).map(TimeUnit.NANOSECONDS::toMillis).sorted().toArray();
+        long[] originalLatencies = requests.stream().mapToLong(CapturedRequest::duration).sorted().toArray();
+        for (double percentile : new double[] {50, 90, 99}) {
+            report.put("latency_p" + (int) percentile + "_ms", percentile(sortedLatencies, percentile));
+        }
+        report.put("latency_max_ms", percentile(sortedLatencies, 100));
+        for (double percentile : new double[] {50, 90, 99}) {
+            report.put("captured_latency_p" + (int) percentile + "_ms", percentile(originalLatencies, percentile));
+        }
+        Map<String, Long> statusCounts = new TreeMap<>();
+        for (int status : statuses) {
+            statusCounts.merge(status == 0 ? "failed" : String.valueOf(status), 1L, Long::sum);
+        }
+        report.put("status", statusCounts);
+        return report;
+    }
+
+    private static HttpRequest toHttpRequest(CapturedRequest captured, String baseUrl) {
+        String url = baseUrl.replaceAll("/+$", "") + captured.path()
+                + (captured.query() == null ? "" : "?" + captured.query());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(captured.body() == null ? new byte[0] : captured.body()));
+        if (captured.contentType() != null) {
+            builder.header("Content-Type", captured.contentType());
+        }
+        if (captured.priority() != null) {
+            builder.header(EmbeddingsController.HEADER_PRIORITY, captured.priority());
+        }
+        if (captured.timeout() != null) {
+            builder.header(EmbeddingsController.HEADER_TIMEOUT, captured.timeout());
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param sorted sorted values
+     * @param percentile percentile (0-100)
+     * @return the value at the percentile (nearest-rank method), 0 if there are no values
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static void print(Map<String, Object> report) {
+        for (Map.Entry<String, Object> entry : report.entrySet()) {
+            System.out.printf(Locale.ROOT, "  %-26s %s%n", entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Print the difference between the numeric values of two reports
+     */
+    private static void printDiff(Map<String, Object> previous, Map<String, Object> current) {
+        System.out.println("Compared with previous run:");
+        System.out.printf(Locale.ROOT, "  %-26s %12s %12s %9s%n", "", "previous", "current", "change");
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            if (entry.getValue() instanceof Number value && previous.get(entry.getKey()) instanceof Number old) {
+                String change = old.doubleValue() == 0
+                        ? "-"
+                        : String.format(Locale.ROOT, "%+.1f%%", (value.doubleValue() / old.doubleValue() - 1) * 100);
+                System.out.printf(Locale.ROOT, "  %-26s %12s %12s %9s%n", entry.getKey(), old, value, change);
+            }
+        }
+    }
+}
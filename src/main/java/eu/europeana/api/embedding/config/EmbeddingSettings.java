@@ -11,6 +11,10 @@ import org.springframework.context.annotation.PropertySource;
 
 import jakarta.annotation.PostConstruct;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Container for all settings that we load from the embedding.properties file and optionally override from
  * embedding.user.properties file
@@ -29,6 +33,78 @@ public class EmbeddingSettings {
     private int executorMaxInstances;
     @Value("${executor.first.port}")
     private int executorFirstPort;
+    @Value("${executor.remote.hosts:}")
+    private String executorRemoteHosts;
+    @Value("${executor.remote.file:}")
+    private String executorRemoteFile;
+    @Value("${executor.zygote.enabled:false}")
+    private boolean executorZygoteEnabled;
+    @Value("${executor.zygote.port:12000}")
+    private int executorZygotePort;
+    @Value("${executor.threads:0}")
+    private int executorThreads;
+    @Value("${executor.cpu.pinning:false}")
+    private boolean executorCpuPinning;
+    @Value("${executor.pipeline.depth:2}")
+    private int executorPipelineDepth;
+    @Value("${executor.split.min.records:100}")
+    private int executorSplitMinRecords;
+    @Value("${executor.request.timeout:60000}")
+    private long executorRequestTimeout;
+    @Value("${executor.hang.timeout:120000}")
+    private long executorHangTimeout;
+    @Value("${executor.queue.max.wait:10000}")
+    private long executorQueueMaxWait;
+    @Value("${executor.reserved.interactive:1}")
+    private int executorReservedInteractive;
+    @Value("${executor.reserved.bulk:0}")
+    private int executorReservedBulk;
+    @Value("${executor.reserved.steal.after:5000}")
+    private long executorReservedStealAfter;
+
+    @Value("${executor.readiness.queue.threshold:0}")
+    private int executorReadinessQueueThreshold;
+
+    @Value("${executor.recycle.max.rss:0}")
+    private long executorRecycleMaxRss;
+    @Value("${executor.recycle.latency.drift:0}")
+    private double executorRecycleLatencyDrift;
+
+    @Value("${executor.drain.readiness.delay:10000}")
+    private long executorDrainReadinessDelay;
+    @Value("${executor.drain.timeout:30000}")
+    private long executorDrainTimeout;
+
+    @Value("${index.enabled:false}")
+    private boolean indexEnabled;
+    @Value("${index.max.size:1000000}")
+    private int indexMaxSize;
+    @Value("${index.vector.file:}")
+    private String indexVectorFile;
+
+    @Value("${capture.enabled:false}")
+    private boolean captureEnabled;
+    @Value("${capture.sample.rate:0.01}")
+    private double captureSampleRate;
+    @Value("${capture.directory:/tmp/embedding-capture}")
+    private String captureDirectory;
+    @Value("${capture.max.file.size:100}")
+    private long captureMaxFileSize;
+    @Value("${capture.max.files:10}")
+    private int captureMaxFiles;
+
+    @Value("${batch.input:}")
+    private String batchInput;
+    @Value("${batch.output:}")
+    private String batchOutput;
+    @Value("${batch.format:binary}")
+    private String batchFormat;
+    @Value("${batch.records.per.request:100}")
+    private int batchRecordsPerRequest;
+    @Value("${batch.resume:true}")
+    private boolean batchResume;
+    @Value("${batch.progress.interval:10000}")
+    private long batchProgressInterval;
 
     @Value("${python.reload.after}")
     private int executorRestartAfter;
@@ -41,7 +117,55 @@ public class EmbeddingSettings {
         LOG.info("  Executor directory: {}", executorPath);
         LOG.info("  Executor max instances: {}", executorMaxInstances);
         LOG.info("  Executor ports: {} to {}", executorFirstPort, executorFirstPort + executorMaxInstances - 1);
-        LOG.info("  Python reload after: {} processed records", executorRestartAfter);
+        if (!getExecutorRemoteHosts().isEmpty()) {
+            LOG.info("  Remote executors: {}", getExecutorRemoteHosts());
+        }
+        if (StringUtils.isNotBlank(executorRemoteFile)) {
+            LOG.info("  Remote executors discovery file: {}", executorRemoteFile);
+        }
+        if (executorZygoteEnabled) {
+            LOG.info("  Executor zygote port: {}", executorZygotePort);
+        }
+        LOG.info("  Executor threads: {}", executorThreads > 0 ? executorThreads : "auto");
+        LOG.info("  Executor cpu pinning: {}", executorCpuPinning);
+        LOG.info("  Executor pipeline depth: {}", executorPipelineDepth);
+        LOG.info("  Executor split batches in parts of at least: {} records", executorSplitMinRecords);
+        LOG.info("  Executor default request timeout: {} ms", executorRequestTimeout);
+        LOG.info("  Executor considered hanging after: {} ms without answer", executorHangTimeout);
+        LOG.info("  Executor max queue wait: {} ms", executorQueueMaxWait);
+        LOG.info("  Executors reserved for interactive / bulk requests: {} / {}", executorReservedInteractive,
+                executorReservedBulk);
+        if (executorReservedInteractive + executorReservedBulk > executorMaxInstances) {
+            LOG.warn("  More executors reserved than available!");
+        }
+        LOG.info("  Reserved executors used by others after: {} ms idle", executorReservedStealAfter);
+        if (executorReadinessQueueThreshold > 0) {
+            LOG.info("  Readiness refusing traffic when more than {} requests are waiting",
+                    executorReadinessQueueThreshold);
+        }
+        if (executorRecycleMaxRss > 0 || executorRecycleLatencyDrift > 0) {
+            LOG.info("  Executor recycled when memory exceeds {} MiB or latency exceeds {} x baseline (0 = disabled)",
+                    executorRecycleMaxRss, executorRecycleLatencyDrift);
+        } else {
+            LOG.info("  {} after: {} processed records", executorZygoteEnabled ? "Executor recycled" : "Python reload",
+                    executorRestartAfter);
+        }
+        LOG.info("  Readiness delay / executor drain timeout on shutdown: {} / {} ms", executorDrainReadinessDelay,
+                executorDrainTimeout);
+        if (indexEnabled) {
+            LOG.info("  Similarity index enabled, max size {} vectors", indexMaxSize);
+            if (StringUtils.isNotBlank(indexVectorFile)) {
+                LOG.info("  Similarity index loaded from: {}", indexVectorFile);
+            }
+        }
+        if (captureEnabled) {
+            LOG.info("  Capturing {}% of requests in {} (max {} files of {} MiB)", captureSampleRate * 100,
+                    captureDirectory, captureMaxFiles, captureMaxFileSize);
+        }
+        if (StringUtils.isNotBlank(batchInput)) {
+            LOG.info("  Batch mode: {} -> {} ({}, {} records per request, resume {})", batchInput, batchOutput,
+                    batchFormat, batchRecordsPerRequest, batchResume);
+        }
     }
 
     public String getExecutorPath() {
@@ -63,7 +187,148 @@ public class EmbeddingSettings {
         return executorFirstPort;
     }
 
+    public int getExecutorReadinessQueueThreshold() {
+        return executorReadinessQueueThreshold;
+    }
+
+    public long getExecutorRecycleMaxRss() {
+        return executorRecycleMaxRss;
+    }
+
+    public double getExecutorRecycleLatencyDrift() {
+        return executorRecycleLatencyDrift;
+    }
+
+    public long getExecutorDrainReadinessDelay() {
+        return executorDrainReadinessDelay;
+    }
+
+    public long getExecutorDrainTimeout() {
+        return executorDrainTimeout;
+    }
+
+    public boolean isIndexEnabled() {
+        return indexEnabled;
+    }
+
+    public int getIndexMaxSize() {
+        return indexMaxSize;
+    }
+
+    public String getIndexVectorFile() {
+        return indexVectorFile;
+    }
+
+    public boolean isCaptureEnabled() {
+        return captureEnabled;
+    }
+
+    public double getCaptureSampleRate() {
+        return captureSampleRate;
+    }
+
+    public String getCaptureDirectory() {
+        return captureDirectory;
+    }
+
+    public long getCaptureMaxFileSize() {
+        return captureMaxFileSize;
+    }
+
+    public int getCaptureMaxFiles() {
+        return captureMaxFiles;
+    }
+
+    public String getBatchInput() {
+        return batchInput;
+    }
+
+    public String getBatchOutput() {
+        return batchOutput;
+    }
+
+    public String getBatchFormat() {
+        return batchFormat;
+    }
+
+    public int getBatchRecordsPerRequest() {
+        return batchRecordsPerRequest;
+    }
+
+    public boolean isBatchResume() {
+        return batchResume;
+    }
+
+    public long getBatchProgressInterval() {
+        return batchProgressInterval;
+    }
+
     public int getExecutorRestartAfter() {
         return executorRestartAfter;
     }
+
+    /**
+     * @return list of remote executor addresses (host:port), empty list if there are none
+     */
+    public List<String> getExecutorRemoteHosts() {
+        if (StringUtils.isBlank(executorRemoteHosts)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(executorRemoteHosts.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .toList();
+    }
+
+    public String getExecutorRemoteFile() {
+        return executorRemoteFile;
+    }
+
+    public boolean isExecutorZygoteEnabled() {
+        return executorZygoteEnabled;
+    }
+
+    public int getExecutorZygotePort() {
+        return executorZygotePort;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public boolean isExecutorCpuPinning() {
+        return executorCpuPinning;
+    }
+
+    public int getExecutorPipelineDepth() {
+        return executorPipelineDepth;
+    }
+
+    public int getExecutorSplitMinRecords() {
+        return executorSplitMinRecords;
+    }
+
+    public long getExecutorRequestTimeout() {
+        return executorRequestTimeout;
+    }
+
+    public long getExecutorHangTimeout() {
+        return executorHangTimeout;
+    }
+
+    public long getExecutorQueueMaxWait() {
+        return executorQueueMaxWait;
+    }
+
+    public int getExecutorReservedInteractive() {
+        return executorReservedInteractive;
+    }
+
+    public int getExecutorReservedBulk() {
+        return executorReservedBulk;
+    }
+
+    public long getExecutorReservedStealAfter() {
+        return executorReservedStealAfter;
+    }
 }
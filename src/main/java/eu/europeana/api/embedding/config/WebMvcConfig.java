@@ -3,16 +3,25 @@ package eu.europeana.api.embedding.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
- * Setup CORS for all requests and setup default Content-type
+ * Setup CORS for all requests, setup default Content-type and binary (CBOR and Smile) content types
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    /** Media type for Smile (binary json) requests and responses */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
     /**
      * Setup CORS for all SpringDoc, requests.
      */
@@ -39,5 +48,22 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
         // set json as default answer, even if no accept header or extension was provided
         configurer.defaultContentType(MediaType.valueOf(MediaType.APPLICATION_JSON_VALUE), MediaType.APPLICATION_JSON);
+
+        configurer.mediaType("cbor", MediaType.APPLICATION_CBOR);
+        configurer.mediaType("smile", APPLICATION_SMILE);
+    }
+
+    /**
+     * Support CBOR and Smile for requests and responses. These are more compact and faster to parse than json,
+     * especially for the float arrays in responses. Json remains the default.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (converters.stream().noneMatch(MappingJackson2CborHttpMessageConverter.class::isInstance)) {
+            converters.add(new MappingJackson2CborHttpMessageConverter());
+        }
+        if (converters.stream().noneMatch(MappingJackson2SmileHttpMessageConverter.class::isInstance)) {
+            converters.add(new MappingJackson2SmileHttpMessageConverter());
+        }
     }
 }
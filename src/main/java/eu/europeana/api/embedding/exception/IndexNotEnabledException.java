@@ -0,0 +1,29 @@
+package eu.europeana.api.embedding.exception;
+
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Throw when a similarity request is received, but the vector index is not enabled
+ */
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class IndexNotEnabledException extends EuropeanaApiException {
+
+    /**
+     * Initialise a new exception
+     */
+    public IndexNotEnabledException() {
+        super("Similarity index is not enabled");
+    }
+
+    /**
+     * We don't want to log the stack trace for this exception
+     * @return false
+     */
+    @Override
+    public boolean doLogStacktrace() {
+        return false;
+    }
+
+}
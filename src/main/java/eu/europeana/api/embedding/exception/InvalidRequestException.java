@@ -0,0 +1,30 @@
+package eu.europeana.api.embedding.exception;
+
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Throw when a request contains an invalid parameter or header value
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends EuropeanaApiException {
+
+    /**
+     * Initialise a new exception for which there is no root cause
+     * @param msg error message
+     */
+    public InvalidRequestException(String msg) {
+        super(msg);
+    }
+
+    /**
+     * We don't want to log the stack trace for this exception
+     * @return false
+     */
+    @Override
+    public boolean doLogStacktrace() {
+        return false;
+    }
+
+}
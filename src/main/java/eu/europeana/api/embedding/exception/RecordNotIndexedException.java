@@ -0,0 +1,30 @@
+package eu.europeana.api.embedding.exception;
+
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Throw when similar records are requested for a record that is not in the vector index
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class RecordNotIndexedException extends EuropeanaApiException {
+
+    /**
+     * Initialise a new exception
+     * @param id the id of the record that was not found
+     */
+    public RecordNotIndexedException(String id) {
+        super("Record " + id + " not found in similarity index");
+    }
+
+    /**
+     * We don't want to log the stack trace for this exception
+     * @return false
+     */
+    @Override
+    public boolean doLogStacktrace() {
+        return false;
+    }
+
+}
@@ -0,0 +1,25 @@
+package eu.europeana.api.embedding.exception;
+
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Throw when a request could not be processed before its deadline
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class RequestTimeoutException extends EuropeanaApiException {
+
+    /**
+     * Initialise a new exception
+     * @param timeoutMs the timeout (in ms) that was exceeded
+     */
+    public RequestTimeoutException(long timeoutMs) {
+        super("Embedding request not processed within " + timeoutMs + " ms");
+    }
+
+    @Override
+    public boolean doLogStacktrace() {
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package eu.europeana.api.embedding.exception;
+
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Throw when a request arrives while the application is shutting down and is no longer accepting new work
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ShuttingDownException extends EuropeanaApiException {
+
+    /**
+     * Initialise a new exception
+     */
+    public ShuttingDownException() {
+        super("Embedding API is shutting down, please retry the request");
+    }
+
+    @Override
+    public boolean doLogStacktrace() {
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package eu.europeana.api.embedding.probes;
+
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import eu.europeana.api.embedding.service.EmbeddingsService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optionally reports the application as not ready (out of service) while too many requests are waiting for an
+ * executor, so the ingress sends new requests to other, less busy pods. Readiness is restored when the queue has
+ * shrunk to half the threshold.
+ */
+@Component
+public class QueueReadinessUpdater {
+
+    private static final Logger LOG = LogManager.getLogger(QueueReadinessUpdater.class);
+
+    private final EmbeddingsService embeddingsService;
+    private final ReadinessPublisher readinessPublisher;
+    private final int threshold;
+
+    private boolean refusingTraffic;
+
+    /**
+     * Initialize a new readiness updater
+     * @param embeddingsService service to check the queue size
+     * @param readinessPublisher for publishing readiness changes
+     * @param settings application settings
+     */
+    public QueueReadinessUpdater(EmbeddingsService embeddingsService, ReadinessPublisher readinessPublisher,
+                                 EmbeddingSettings settings) {
+        this.embeddingsService = embeddingsService;
+        this.readinessPublisher = readinessPublisher;
+        this.threshold = settings.getExecutorReadinessQueueThreshold();
+    }
+
+    /**
+     * Check the queue size and update readiness if necessary
+     */
+    @Scheduled(fixedDelayString = "${executor.readiness.check.interval:1000}")
+    public void checkQueue() {
+        if (threshold <= 0) {
+            return;
+        }
+        // while shutting down readiness stays refusing traffic, the readiness publisher ignores our changes then
+        int queueSize = embeddingsService.getQueueSize();
+        if (!refusingTraffic && queueSize > threshold && readinessPublisher.publish(ReadinessState.REFUSING_TRAFFIC)) {
+            LOG.warn("{} requests waiting for an executor, reporting readiness as refusing traffic", queueSize);
+            refusingTraffic = true;
+        } else if (refusingTraffic && queueSize <= threshold / 2
+                && readinessPublisher.publish(ReadinessState.ACCEPTING_TRAFFIC)) {
+            LOG.info("{} requests waiting for an executor, reporting readiness as accepting traffic", queueSize);
+            refusingTraffic = false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package eu.europeana.api.embedding.probes;
+
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes all readiness changes of the application. Readiness is changed both depending on the number of waiting
+ * requests (see QueueReadinessUpdater) and when shutting down (see ShutdownDrainer). Once we are shutting down
+ * readiness stays refusing traffic, so a queue check that runs at the same time can't report us as ready again.
+ */
+@Component
+public class ReadinessPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private boolean shuttingDown;
+
+    /**
+     * Initialize a new readiness publisher
+     * @param eventPublisher for publishing readiness changes
+     */
+    public ReadinessPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Publish a readiness change, unless we are shutting down
+     * @param state the new readiness state
+     * @return true if the change was published, false if we are shutting down
+     */
+    public synchronized boolean publish(ReadinessState state) {
+        if (shuttingDown) {
+            return false;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, state);
+        return true;
+    }
+
+    /**
+     * Report readiness as refusing traffic until the application is stopped
+     */
+    public synchronized void publishShuttingDown() {
+        shuttingDown = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+    }
+}
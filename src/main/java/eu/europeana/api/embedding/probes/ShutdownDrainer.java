@@ -0,0 +1,118 @@
+package eu.europeana.api.embedding.probes;
+
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import eu.europeana.api.embedding.service.EmbeddingsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.push.PushMeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shuts down the application without failing requests: when the application context is closing we first report
+ * readiness as refusing traffic and keep accepting requests for the configured readiness delay, so the ingress has time
+ * to notice and stop sending requests to this pod. Then we stop accepting new requests and wait (up to the configured
+ * drain timeout) until all requests that are being processed are finished. After that metrics are flushed and all
+ * executors are stopped in parallel.
+ */
+@Component
+public class ShutdownDrainer {
+
+    private static final Logger LOG = LogManager.getLogger(ShutdownDrainer.class);
+
+    private final EmbeddingsService embeddingsService;
+    private final ReadinessPublisher readinessPublisher;
+    private final MeterRegistry meterRegistry;
+    private final long readinessDelay;
+    private final long drainTimeout;
+
+    private boolean drained;
+
+    /**
+     * Initialize a new shutdown drainer
+     * @param embeddingsService service that processes the requests
+     * @param readinessPublisher for publishing readiness changes
+     * @param meterRegistry registry for metrics
+     * @param settings application settings
+     */
+    public ShutdownDrainer(EmbeddingsService embeddingsService, ReadinessPublisher readinessPublisher,
+                           MeterRegistry meterRegistry, EmbeddingSettings settings) {
+        this.embeddingsService = embeddingsService;
+        this.readinessPublisher = readinessPublisher;
+        this.meterRegistry = meterRegistry;
+        this.readinessDelay = settings.getExecutorDrainReadinessDelay();
+        this.drainTimeout = settings.getExecutorDrainTimeout();
+    }
+
+    /**
+     * Drain requests and stop the executors when the application is shutting down
+     * @param event context closed event
+     */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void onShutdown(ContextClosedEvent event) {
+        if (drained) {
+            return;
+        }
+        drained = true;
+        readinessPublisher.publishShuttingDown();
+        awaitReadinessPropagation();
+        embeddingsService.startDrain();
+
+        int inFlight = embeddingsService.getInFlight();
+        LOG.info("Shutting down, waiting at most {} ms for {} requests to finish...", drainTimeout, inFlight);
+        long start = System.currentTimeMillis();
+        if (embeddingsService.awaitIdle(drainTimeout)) {
+            LOG.info("All requests finished in {} ms", System.currentTimeMillis() - start);
+        } else {
+            LOG.warn("{} requests still being processed after {} ms, stopping anyway", embeddingsService.getInFlight(),
+                    drainTimeout);
+        }
+
+        flushMetrics();
+        embeddingsService.stopExecutors();
+    }
+
+    /**
+     * Requests that arrive before the ingress noticed that we are not ready anymore are still processed, so we only
+     * start refusing them after the readiness delay
+     */
+    private void awaitReadinessPropagation() {
+        if (readinessDelay <= 0) {
+            return;
+        }
+        LOG.info("Shutting down, accepting requests for another {} ms until readiness change is noticed...",
+                readinessDelay);
+        try {
+            Thread.sleep(readinessDelay);
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for readiness change to be noticed");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Log a summary of the request metrics and make sure push-based registries (if any) publish their last values
+     */
+    private void flushMetrics() {
+        for (Timer timer : meterRegistry.find("embedding.request").timers()) {
+            LOG.info("Processed {} {} requests, mean {} ms, max {} ms", timer.count(), timer.getId().getTag("priority"),
+                    Math.round(timer.mean(TimeUnit.MILLISECONDS)), Math.round(timer.max(TimeUnit.MILLISECONDS)));
+        }
+        Collection<MeterRegistry> registries = meterRegistry instanceof CompositeMeterRegistry composite
+                ? composite.getRegistries()
+                : List.of(meterRegistry);
+        for (MeterRegistry registry : registries) {
+            if (registry instanceof PushMeterRegistry pushRegistry) {
+                pushRegistry.close();
+            }
+        }
+    }
+}
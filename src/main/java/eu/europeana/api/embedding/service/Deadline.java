@@ -0,0 +1,42 @@
+package eu.europeana.api.embedding.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the time left to process a request
+ */
+public final class Deadline {
+
+    private final long timeoutMs;
+    private final long deadlineNs;
+
+    /**
+     * Create a new deadline that expires the provided number of milliseconds from now
+     * @param timeoutMs number of milliseconds before the deadline expires
+     */
+    public Deadline(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.deadlineNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    /**
+     * @return the original timeout in milliseconds
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * @return the number of milliseconds left before the deadline expires, 0 if it has expired
+     */
+    public long remainingMs() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNs - System.nanoTime()));
+    }
+
+    /**
+     * @return true if the deadline has expired
+     */
+    public boolean isExpired() {
+        return remainingMs() == 0;
+    }
+}
@@ -2,24 +2,45 @@ package eu.europeana.api.embedding.service;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
 import eu.europeana.api.embedding.config.EmbeddingSettings;
 import eu.europeana.api.embedding.exception.ConfigurationException;
 import eu.europeana.api.embedding.exception.ExecutorException;
 import eu.europeana.api.embedding.exception.NoExecutorAvailableException;
+import eu.europeana.api.embedding.exception.RequestTimeoutException;
+import eu.europeana.api.recommend.common.model.EmbeddingRecord;
 import eu.europeana.api.recommend.common.model.EmbeddingRequestData;
 import eu.europeana.api.recommend.common.model.EmbeddingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
  * Given one or more records, this service that generates a vector for each record.
@@ -30,30 +51,119 @@ public class EmbeddingsService {
 
     private static final Logger LOG = LogManager.getLogger(EmbeddingsService.class);
 
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_DATA = "data";
+    private static final String FIELD_BATCH = "batch";
+    private static final String STATUS_SUCCESS = "success";
+    private static final String TAG_PRIORITY = "priority";
+    private static final String RECYCLE_MEMORY = "memory";
+    private static final String RECYCLE_LATENCY = "latency";
+    private static final String RECYCLE_FAILED = "failed";
+    private static final String RECYCLE_RECORDS = "records";
+    private static final long EXECUTOR_STOP_WAIT_TIME = 30; // seconds
+    private static final long EXECUTOR_START_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+    private static final int REMOTE_PING_TIMEOUT = 2000; // milliseconds
+
     private EmbeddingSettings settings;
-    private ConcurrentLinkedQueue<Executor> executorsFree; // linked queue so each executor gets its turn
-    private List<Executor> executorsBusy;
+    private SimilarityService similarityService;
+    private ExecutorPool executorPool;
+    private Zygote zygote; // only used if zygote mode is enabled
+    private ExecutorService partThreads; // for processing parts of split requests in parallel
+    private ExecutorService replaceThread; // for replacing failed executors in the background
     private ObjectMapper serializer;
 
+    private final RequestDrain drain = new RequestDrain();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    private Map<RequestPriority, Timer> requestTimers = new EnumMap<>(RequestPriority.class);
+    private Map<RequestPriority, Timer> queueTimers = new EnumMap<>(RequestPriority.class);
+    private DistributionSummary paddingRatio;
+    private DistributionSummary unbucketedPaddingRatio;
+    private DistributionSummary coalescedRequests;
+    private Map<String, Counter> recycledCounters = new HashMap<>();
+
     /**
      * Initialize a new Embeddings Service
      * @param settings application settings
+     * @param similarityService service that optionally indexes the generated vectors
+     * @param meterRegistry registry for metrics
      */
-    public EmbeddingsService(EmbeddingSettings settings) {
+    public EmbeddingsService(EmbeddingSettings settings, SimilarityService similarityService,
+                             MeterRegistry meterRegistry) {
         this.settings = settings;
-        this.executorsFree = new ConcurrentLinkedQueue<>();
-        this.executorsBusy = Collections.synchronizedList(new ArrayList<>(settings.getExecutorMaxInstances()));
+        this.similarityService = similarityService;
+        Map<RequestPriority, Integer> reserved = new EnumMap<>(RequestPriority.class);
+        reserved.put(RequestPriority.INTERACTIVE, settings.getExecutorReservedInteractive());
+        reserved.put(RequestPriority.BULK, settings.getExecutorReservedBulk());
+        this.executorPool = new ExecutorPool(reserved, settings.getExecutorReservedStealAfter());
+        // the number of remote executors can change over time, so the number of part threads isn't fixed
+        this.partThreads = Executors.newCachedThreadPool();
+        this.replaceThread = Executors.newSingleThreadExecutor();
 
         this.serializer = new ObjectMapper();
         this.serializer.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            requestTimers.put(priority, Timer.builder("embedding.request")
+                    .description("Total time to process an embedding request (including waiting for an executor)")
+                    .tag(TAG_PRIORITY, tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            queueTimers.put(priority, Timer.builder("embedding.queue.wait")
+                    .description("Time an embedding request waited for an executor")
+                    .tag(TAG_PRIORITY, tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            Gauge.builder("embedding.queue.size", executorPool, pool -> pool.getQueueSize(priority))
+                    .description("Number of embedding requests waiting for an executor")
+                    .tag(TAG_PRIORITY, tag)
+                    .register(meterRegistry);
+            Gauge.builder("embedding.executors.in.use", executorPool, pool -> pool.getInUse(priority))
+                    .description("Number of executor slots in use (each executor has pipeline depth slots)")
+                    .tag(TAG_PRIORITY, tag)
+                    .register(meterRegistry);
+        }
+        paddingRatio = DistributionSummary.builder("embedding.batch.padding.ratio")
+                .description("Fraction of padding tokens in batches sent to the Laser model")
+                .register(meterRegistry);
+        unbucketedPaddingRatio = DistributionSummary.builder("embedding.batch.padding.ratio.unbucketed")
+                .description("Fraction of padding tokens if batches were not split in length buckets")
+                .register(meterRegistry);
+        coalescedRequests = DistributionSummary.builder("embedding.batch.requests")
+                .description("Number of requests that were coalesced into one Laser batch")
+                .register(meterRegistry);
+        Gauge.builder("embedding.executor.saturation", this, EmbeddingsService::getSaturation)
+                .description("Executor saturation: 0 is idle, 1 is all executors busy, above 1 requests are waiting")
+                .register(meterRegistry);
+        Gauge.builder("embedding.executor.busy.ratio", executorPool, ExecutorPool::getBusyRatio)
+                .description("Fraction of executors that is busy")
+                .register(meterRegistry);
+        for (String reason : List.of(RECYCLE_MEMORY, RECYCLE_LATENCY, RECYCLE_FAILED, RECYCLE_RECORDS)) {
+            recycledCounters.put(reason, Counter.builder("embedding.executor.recycled")
+                    .description("Number of executors that were replaced by a new process")
+                    .tag("reason", reason)
+                    .register(meterRegistry));
+        }
     }
 
     /**
-     * We verify if Python 3.6 is installed (we haven't found a way to support Python 3.10 yet)
+     * We verify if Python 3.6 is installed (we haven't found a way to support Python 3.10 yet), launch the local
+     * executors and register the remote executors.
      * @throws EuropeanaApiException if python3.6 was not found
      */
     @PostConstruct
     public void checkRequirements() throws EuropeanaApiException {
+        if (settings.getExecutorMaxInstances() > 0) {
+            launchLocalExecutors();
+        }
+        updateRemoteExecutors();
+        if (executorPool.size() == 0) {
+            throw new ConfigurationException("No local or remote executors configured");
+        }
+    }
+
+    private void launchLocalExecutors() throws EuropeanaApiException {
         String pythonVersion = ExecutorUtils.runSimpleCommand("python3.6", "--version");
         if (pythonVersion == null || !pythonVersion.startsWith("Python 3.6")) {
             throw new ConfigurationException("Python 3.6 not found");
@@ -62,65 +172,507 @@ public class EmbeddingsService {
         }
 
         // launch executors
-        LOG.info("Launching {} executors...", settings.getExecutorMaxInstances());
+        LOG.info("Launching {} executors with {} threads each{} ({} cpus available)...",
+                settings.getExecutorMaxInstances(), getExecutorThreads(),
+                settings.isExecutorCpuPinning() ? " pinned to their own cpus" : "",
+                Runtime.getRuntime().availableProcessors());
+        if (settings.isExecutorZygoteEnabled()) {
+            zygote = new Zygote(settings.getExecutorZygotePort(), getExecutorThreads(), settings.getExecutorPath());
+        }
         for (int i = 0; i < settings.getExecutorMaxInstances(); i++) {
-            executorsFree.add(new Executor(settings.getExecutorFirstPort() + i, settings.getExecutorRestartAfter(),
-                    settings.getExecutorPath()));
+            executorPool.add(newLocalExecutor(settings.getExecutorFirstPort() + i));
         }
         LOG.info("Done launching executors");
     }
 
     /**
-     * Return an object containing the vectors for the provided data
+     * Replace local executors that failed while no request was using them, for example because they didn't answer a
+     * request the client already stopped waiting for within the hang timeout
+     */
+    @Scheduled(fixedDelayString = "${executor.hang.check.interval:10000}")
+    public void replaceFailedExecutors() {
+        for (Executor executor : executorPool.getExecutors()) {
+            if (executor.hasFailed() && executorPool.removeIfIdle(executor)) {
+                replaceExecutor(executor, RECYCLE_FAILED);
+            }
+        }
+    }
+
+    /**
+     * Register new remote executors and retire the ones that are no longer listed in the settings or discovery file.
+     * Remote executors that are unhealthy or idle are checked if they still respond.
+     */
+    @Scheduled(fixedDelayString = "${executor.remote.check.interval:10000}")
+    public void updateRemoteExecutors() {
+        Set<String> addresses = new LinkedHashSet<>(settings.getExecutorRemoteHosts());
+        addresses.addAll(readRemoteExecutorsFile());
+
+        Map<String, Executor> current = new HashMap<>();
+        for (Executor executor : executorPool.getExecutors()) {
+            if (executor.isRemote() && !executor.isRetiring()) {
+                current.put(executor.getAddress(), executor);
+            }
+        }
+        for (String address : addresses) {
+            if (!current.containsKey(address)) {
+                addRemoteExecutor(address);
+            }
+        }
+        for (Executor executor : current.values()) {
+            if (!addresses.contains(executor.getAddress())) {
+                LOG.info("Removing remote executor {}", executor.getAddress());
+                executor.retire("removed");
+                executorPool.removeIfIdle(executor);
+            } else if (!executor.isHealthy() || !executor.isBusy()) {
+                boolean wasHealthy = executor.isHealthy();
+                if (executor.ping(REMOTE_PING_TIMEOUT) != wasHealthy) {
+                    LOG.warn("Remote executor {} is {}", executor.getAddress(),
+                            executor.isHealthy() ? "healthy again" : "not responding");
+                }
+            }
+        }
+    }
+
+    private void addRemoteExecutor(String address) {
+        int separator = address.lastIndexOf(':');
+        if (separator <= 0) {
+            LOG.error("Invalid remote executor address {}, expected host:port", address);
+            return;
+        }
+        try {
+            int port = Integer.parseInt(address.substring(separator + 1));
+            Executor executor = new Executor(address.substring(0, separator), port, settings.getExecutorPipelineDepth());
+            if (!executor.ping(REMOTE_PING_TIMEOUT)) {
+                LOG.warn("Remote executor {} is not responding (yet)", address);
+            }
+            LOG.info("Adding remote executor {}", address);
+            executorPool.add(executor);
+        } catch (NumberFormatException e) {
+            LOG.error("Invalid port number in remote executor address {}", address);
+        }
+    }
+
+    /**
+     * @return the remote executor addresses listed in the discovery file (one per line, # for comments)
+     */
+    private List<String> readRemoteExecutorsFile() {
+        String file = settings.getExecutorRemoteFile();
+        if (StringUtils.isBlank(file)) {
+            return Collections.emptyList();
+        }
+        try (Stream<String> lines = Files.lines(Path.of(file))) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        } catch (IOException e) {
+            LOG.error("Error reading remote executors file {}", file, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Return an object containing the vectors for the provided data, processed with interactive priority.
      * @param data the data for which to generate vectors
      * @return EmbeddingResponse object
      * @throws EuropeanaApiException if there's a problem generating the vectors
      */
-    @SuppressWarnings("java:S2142") // no need to warn for no handling InterruptedException as the executor will
-     // clean up after itself
     public EmbeddingResponse generateEmbeddings(EmbeddingRequestData data) throws EuropeanaApiException {
-        long start = System.currentTimeMillis();
+        return generateEmbeddings(data, RequestPriority.INTERACTIVE);
+    }
 
-        // parse data
-        String dataJson;
+    /**
+     * Return an object containing the vectors for the provided data, using the default request timeout
+     * @param data the data for which to generate vectors
+     * @param priority the priority of the request
+     * @return EmbeddingResponse object
+     * @throws EuropeanaApiException if there's a problem generating the vectors
+     */
+    public EmbeddingResponse generateEmbeddings(EmbeddingRequestData data, RequestPriority priority)
+            throws EuropeanaApiException {
+        return generateEmbeddings(data, priority, settings.getExecutorRequestTimeout());
+    }
+
+    /**
+     * Return an object containing the vectors for the provided data. Large requests are split into parts that are
+     * processed in parallel if more than one executor is free.
+     * @param data the data for which to generate vectors
+     * @param priority the priority of the request
+     * @param timeoutMs maximum time in milliseconds for processing the request
+     * @return EmbeddingResponse object
+     * @throws EuropeanaApiException if there's a problem generating the vectors
+     * @throws RequestTimeoutException if the request could not be processed within the timeout
+     */
+    public EmbeddingResponse generateEmbeddings(EmbeddingRequestData data, RequestPriority priority, long timeoutMs)
+            throws EuropeanaApiException {
+        long start = System.nanoTime();
         try {
-            dataJson = serializer.writeValueAsString(data);
-        } catch (JsonProcessingException jpe) {
-            throw new ExecutorException("Error serializing request data", jpe, true);
+            ObjectNode output = embed(data.getRecords(), priority, new Deadline(timeoutMs));
+            similarityService.addAll(output.get(FIELD_DATA));
+
+            // serialize output
+            try {
+                EmbeddingResponse response = serializer.treeToValue(output, EmbeddingResponse.class);
+                LOG.debug("Result: {} in {} ms", response.getStatus(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return response;
+            } catch (JsonProcessingException jpe) {
+                throw new ExecutorException("Error parsing Embedding executor output: " + output, jpe, true);
+            }
+        } finally {
+            requestTimers.get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Generate vectors for the provided records, using the default request timeout
+     * @param records the records for which to generate vectors
+     * @param priority the priority of the request
+     * @return json array with for each record an object with its 'id' and 'embedding'
+     * @throws EuropeanaApiException if there's a problem generating the vectors
+     */
+    public JsonNode generateVectors(EmbeddingRecord[] records, RequestPriority priority) throws EuropeanaApiException {
+        return generateVectors(records, priority, settings.getExecutorRequestTimeout());
+    }
+
+    /**
+     * Generate vectors for the provided records. Unlike generateEmbeddings, the vectors are not added to the similarity
+     * index, that's up to the caller.
+     * @param records the records for which to generate vectors
+     * @param priority the priority of the request
+     * @param timeoutMs maximum time in milliseconds for processing the request
+     * @return json array with for each record an object with its 'id' and 'embedding'
+     * @throws EuropeanaApiException if there's a problem generating the vectors
+     */
+    public JsonNode generateVectors(EmbeddingRecord[] records, RequestPriority priority, long timeoutMs)
+            throws EuropeanaApiException {
+        long start = System.nanoTime();
+        try {
+            return embed(records, priority, new Deadline(timeoutMs)).get(FIELD_DATA);
+        } finally {
+            requestTimers.get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Keep track of the number of requests being processed and refuse new requests while draining
+     */
+    private ObjectNode embed(EmbeddingRecord[] records, RequestPriority priority, Deadline deadline)
+            throws EuropeanaApiException {
+        drain.enter();
+        try {
+            return embedAdmitted(records, priority, deadline);
+        } finally {
+            drain.exit();
+        }
+    }
+
+    /**
+     * Send the records to one or more executors and merge the results (in the original order)
+     */
+    @SuppressWarnings("java:S2142") // no need to warn for no handling InterruptedException as the executor will
+    // clean up after itself
+    private ObjectNode embedAdmitted(EmbeddingRecord[] records, RequestPriority priority, Deadline deadline)
+            throws EuropeanaApiException {
+        long start = System.nanoTime();
+        List<Executor> executors = executorPool.acquire(priority, getNrOfParts(records.length),
+                Math.min(settings.getExecutorQueueMaxWait(), deadline.remainingMs()));
+        queueTimers.get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (executors.isEmpty()) {
+            if (deadline.isExpired()) {
+                throw new RequestTimeoutException(deadline.getTimeoutMs());
+            }
+            throw new NoExecutorAvailableException(executorPool.size());
+        }
+        if (executors.size() == 1) {
+            return embedPart(executors.get(0), records, priority, deadline);
+        }
+
+        LOG.debug("Splitting {} records over {} executors", records.length, executors.size());
+        List<EmbeddingRecord[]> parts = RequestSplitter.split(records, executors.size());
+        List<Future<ObjectNode>> otherParts = new ArrayList<>(executors.size() - 1);
+        for (int i = 0; i < executors.size() - 1; i++) {
+            Executor executor = executors.get(i);
+            EmbeddingRecord[] part = parts.get(i);
+            otherParts.add(partThreads.submit(() -> embedPart(executor, part, priority, deadline)));
         }
+        // we process the last part ourselves
+        ObjectNode lastPart = embedPart(executors.get(executors.size() - 1), parts.get(parts.size() - 1), priority,
+                deadline);
 
-        // get executor
-        if (executorsFree.isEmpty()) {
-            throw new NoExecutorAvailableException(settings.getExecutorMaxInstances());
+        ObjectNode result = null;
+        try {
+            for (Future<ObjectNode> otherPart : otherParts) {
+                result = RequestSplitter.merge(result, otherPart.get(deadline.remainingMs(), TimeUnit.MILLISECONDS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutorException("Interrupted while waiting for Embedding executor output", e, false);
+        } catch (TimeoutException e) {
+            throw new RequestTimeoutException(deadline.getTimeoutMs());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof EuropeanaApiException eae) {
+                throw eae;
+            }
+            throw new ExecutorException("Error generating embeddings", e.getCause(), true);
         }
-        Executor executor = executorsFree.remove();
-        executorsBusy.add(executor);
+        return RequestSplitter.merge(result, lastPart);
+    }
 
-        // invoke executor
+    /**
+     * Calculate in how many parts we want to split a request (if enough executors are free)
+     */
+    private int getNrOfParts(int nrRecords) {
+        return RequestSplitter.getNrOfParts(nrRecords, settings.getExecutorSplitMinRecords(), executorPool.size());
+    }
+
+    /**
+     * Send (part of) the records to the provided executor. If the executor is not reachable or stopped working, we
+     * try once more with another executor (if one becomes available in time).
+     */
+    private ObjectNode embedPart(Executor executor, EmbeddingRecord[] records, RequestPriority priority,
+                                 Deadline deadline) throws EuropeanaApiException {
+        try {
+            return sendPart(executor, records, priority, deadline);
+        } catch (ExecutorException e) {
+            if ((executor.isHealthy() && !executor.hasFailed()) || deadline.isExpired()) {
+                throw e;
+            }
+            List<Executor> other = executorPool.acquire(priority, 1,
+                    Math.min(settings.getExecutorQueueMaxWait(), deadline.remainingMs()));
+            if (other.isEmpty()) {
+                throw e;
+            }
+            LOG.warn("Executor {} failed, retrying {} records on executor {}", executor.getAddress(), records.length,
+                    other.get(0).getAddress());
+            return sendPart(other.get(0), records, priority, deadline);
+        }
+    }
+
+    /**
+     * Send (part of) the records to the provided executor. The executor is released when done, or replaced if it
+     * failed.
+     */
+    private ObjectNode sendPart(Executor executor, EmbeddingRecord[] records, RequestPriority priority,
+                                Deadline deadline) throws EuropeanaApiException {
         String output;
         try {
-            output = executor.sendData(dataJson, data.getRecords().length);
+            String dataJson = serializer.writeValueAsString(new EmbeddingRequestData(records));
+            if (deadline.isExpired()) {
+                throw new RequestTimeoutException(deadline.getTimeoutMs());
+            }
+            output = executor.sendData(dataJson, records.length, deadline.remainingMs(),
+                    settings.getExecutorHangTimeout());
+        } catch (JsonProcessingException jpe) {
+            throw new ExecutorException("Error serializing request data", jpe, true);
         } finally {
-            executorsBusy.remove(executor);
-            executorsFree.add(executor);
+            if (executor.hasFailed()) {
+                executorPool.remove(executor, priority);
+                replaceExecutor(executor, RECYCLE_FAILED);
+            } else {
+                String recycleReason = getRecycleReason(executor);
+                if (recycleReason != null && !executor.isRetiring()) {
+                    LOG.info("Retiring executor {} because of {}", executor.getAddress(), recycleReason);
+                    executor.retire(recycleReason);
+                    recycledCounters.get(recycleReason).increment();
+                }
+                if (executorPool.release(executor, priority)) {
+                    replaceExecutor(executor, executor.getRetireReason());
+                }
+            }
         }
 
         if (output == null) {
             throw new ExecutorException("No output received from Embedding executor service", null, false);
         }
-        if (output.toLowerCase(Locale.ROOT).startsWith("{'status': 'error')")) {
+        JsonNode result;
+        try {
+            result = serializer.readTree(output);
+        } catch (JsonProcessingException jpe) {
+            throw new ExecutorException("Error parsing Embedding executor output: " + output, jpe, true);
+        }
+        if (!(result instanceof ObjectNode) || !STATUS_SUCCESS.equalsIgnoreCase(result.path(FIELD_STATUS).asText())) {
             // TODO better parsing of error messages
             throw new ExecutorException(output, null, false);
         }
+        recordBatchStatistics(executor, ((ObjectNode) result).remove(FIELD_BATCH));
+        return (ObjectNode) result;
+    }
 
-        // serialize output
-        try {
-            EmbeddingResponse response = serializer.readValue(output, EmbeddingResponse.class);
-            LOG.debug("Result: {} in {} ms", response.getStatus(), System.currentTimeMillis() - start);
-            return response;
-        } catch (JsonProcessingException jpe) {
-            throw new ExecutorException("Error parsing Embedding executor output: " + output, jpe, true);
+    /**
+     * Record the statistics that an executor sends back about the batch that contained our request. When several
+     * requests were coalesced into one batch, only the first request of the batch receives the statistics.
+     * The compute time in the statistics is used to detect executors that are getting slower (see getRecycleReason).
+     */
+    private void recordBatchStatistics(Executor executor, JsonNode batch) {
+        if (batch == null) {
+            return;
+        }
+        double tokens = batch.path("tokens").asDouble();
+        double padded = batch.path("padded_tokens").asDouble();
+        double unbucketedPadded = batch.path("unbucketed_padded_tokens").asDouble();
+        if (padded > 0) {
+            paddingRatio.record(1 - tokens / padded);
+            unbucketedPaddingRatio.record(1 - tokens / unbucketedPadded);
+        }
+        coalescedRequests.record(batch.path("requests").asDouble(1));
+        double computeMs = batch.path("compute_ms").asDouble();
+        if (computeMs > 0 && padded > 0) {
+            executor.updateComputeLatency(computeMs, padded);
+        }
+    }
+
+    /**
+     * Check if an executor should be recycled, because its memory usage is over budget or because it has become
+     * significantly slower than when it was started. Without adaptive recycling, workers forked by the zygote are
+     * recycled after a fixed number of records (instead of reloading the model in Python).
+     * @return reason for recycling, null if the executor doesn't need to be recycled
+     */
+    private String getRecycleReason(Executor executor) {
+        if (isAdaptiveRecycling()) {
+            long maxRssMb = settings.getExecutorRecycleMaxRss();
+            if (maxRssMb > 0 && executor.getMemoryBytes() > maxRssMb * 1024 * 1024) {
+                return RECYCLE_MEMORY;
+            }
+            double maxDrift = settings.getExecutorRecycleLatencyDrift();
+            double baseline = executor.getBaselineComputeLatency();
+            if (maxDrift > 0 && baseline > 0 && executor.getComputeLatency() > baseline * maxDrift) {
+                return RECYCLE_LATENCY;
+            }
+        } else if (executor.isForked() && settings.getExecutorRestartAfter() > 0
+                && executor.getProcessedRecords() >= settings.getExecutorRestartAfter()) {
+            return RECYCLE_RECORDS;
+        }
+        return null;
+    }
+
+    private boolean isAdaptiveRecycling() {
+        return settings.getExecutorRecycleMaxRss() > 0 || settings.getExecutorRecycleLatencyDrift() > 0;
+    }
+
+    /**
+     * Stop an executor and start a new one on the same port. This is done in the background, so the request that
+     * noticed the executor should be replaced can return immediately. The new executor is only added to the pool when
+     * it answers a ping.
+     * Failed executors are killed, other executors are asked to shut down gracefully. Remote executors are not
+     * replaced, they are managed by the host they run on.
+     */
+    private void replaceExecutor(Executor old, String reason) {
+        if (old.isRemote() || !old.claimReplacement()) {
+            return;
+        }
+        LOG.warn("Replacing executor on port {} because of {}", old.getPortNr(), reason);
+        if (RECYCLE_FAILED.equals(reason)) {
+            recycledCounters.get(reason).increment();
+        }
+        replaceThread.submit(() -> {
+            if (RECYCLE_FAILED.equals(reason)) {
+                old.kill();
+            } else {
+                old.destroy();
+                old.waitForExit(EXECUTOR_STOP_WAIT_TIME);
+            }
+            if (drain.isDraining()) {
+                LOG.info("Not replacing executor on port {} because we're shutting down", old.getPortNr());
+                return;
+            }
+            try {
+                Executor executor = newLocalExecutor(old.getPortNr());
+                // the new process has to load the model first, we don't want requests to fail because it isn't ready
+                if (!executor.awaitReady(EXECUTOR_START_TIMEOUT)) {
+                    LOG.error("New executor on port {} not ready within {} ms", old.getPortNr(), EXECUTOR_START_TIMEOUT);
+                    executor.kill();
+                } else if (drain.isDraining()) {
+                    executor.destroy();
+                } else {
+                    executorPool.add(executor);
+                    LOG.info("Executor on port {} replaced", old.getPortNr());
+                }
+            } catch (EuropeanaApiException e) {
+                LOG.error("Error replacing executor on port {}", old.getPortNr(), e);
+            }
+        });
+    }
+
+    /**
+     * Start a new local executor, either by launching a new Python process or by letting the zygote fork one
+     */
+    private Executor newLocalExecutor(int portNr) throws EuropeanaApiException {
+        int cpuSlot = getCpuSlot(portNr - settings.getExecutorFirstPort());
+        if (zygote != null) {
+            return new Executor(zygote, portNr, getPythonReloadAfter(), settings.getExecutorPipelineDepth(),
+                    getExecutorThreads(), cpuSlot);
+        }
+        return new Executor(portNr, getPythonReloadAfter(), settings.getExecutorPipelineDepth(), getExecutorThreads(),
+                cpuSlot, settings.getExecutorPath());
+    }
+
+    /**
+     * @return the number of threads each local executor may use. Unless configured otherwise, the available cpus are
+     * divided evenly between the executors so they don't compete for the same cores.
+     */
+    private int getExecutorThreads() {
+        if (settings.getExecutorThreads() > 0) {
+            return settings.getExecutorThreads();
         }
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / Math.max(1, settings.getExecutorMaxInstances()));
+    }
+
+    /**
+     * @return the cpu slot the executor with the provided index should pin itself to, -1 if pinning is disabled
+     */
+    private int getCpuSlot(int executorIndex) {
+        return settings.isExecutorCpuPinning() ? executorIndex : -1;
+    }
+
+    /**
+     * When adaptive recycling is enabled, we don't want Python to reload the model after a fixed number of records.
+     * Workers forked by the zygote never reload the model themselves, because then they would get their own copy of
+     * the model instead of sharing the one of the zygote. We recycle them instead (see getRecycleReason).
+     */
+    private int getPythonReloadAfter() {
+        if (zygote != null || isAdaptiveRecycling()) {
+            return 0;
+        }
+        return settings.getExecutorRestartAfter();
+    }
+
+    /**
+     * @return the number of requests that all executors together can process at the same time
+     */
+    public int getCapacity() {
+        return executorPool.size() * Math.max(1, settings.getExecutorPipelineDepth());
+    }
+
+    /**
+     * @return the total number of requests waiting for an executor
+     */
+    public int getQueueSize() {
+        int result = 0;
+        for (RequestPriority priority : RequestPriority.values()) {
+            result += executorPool.getQueueSize(priority);
+        }
+        return result;
+    }
+
+    /**
+     * Calculate how saturated the executors are. This is the sum of
+     * <ul>
+     *     <li>the fraction of busy executors,</li>
+     *     <li>the number of waiting requests per executor and</li>
+     *     <li>the recent maximum time requests waited for an executor as fraction of the maximum allowed wait time.</li>
+     * </ul>
+     * So 0 means all executors are idle, 1 means all executors are busy and values above 1 mean requests are waiting.
+     * Note that unlike CPU usage, this also shows saturation when Python is blocked on I/O or reloading its model.
+     * @return executor saturation
+     */
+    public double getSaturation() {
+        double maxWaitMs = 0;
+        for (Timer queueTimer : queueTimers.values()) {
+            maxWaitMs = Math.max(maxWaitMs, queueTimer.max(TimeUnit.MILLISECONDS));
+        }
+        return executorPool.getBusyRatio()
+                + getQueueSize() / (double) Math.max(1, executorPool.size())
+                + maxWaitMs / Math.max(1, settings.getExecutorQueueMaxWait());
     }
 
     /**
@@ -129,14 +681,12 @@ public class EmbeddingsService {
      */
     public synchronized String getStatus() {
         StringBuilder s = new StringBuilder("Executors:\n");
-        Map<Integer, String> executorInfo = new TreeMap<>();
-        for (Executor executor : executorsBusy) {
-            ImmutablePair<Integer, String> exInfo = executor.getInfo();
-            executorInfo.put(exInfo.left, exInfo.right + " - BUSY");
-        }
-        for (Executor executor : executorsFree) {
-            ImmutablePair<Integer, String> exInfo = executor.getInfo();
-            executorInfo.put(exInfo.left, exInfo.right + " - free");
+        Map<String, String> executorInfo = new TreeMap<>();
+        for (Executor executor : executorPool.getExecutors()) {
+            ImmutablePair<String, String> exInfo = executor.getInfo();
+            executorInfo.put(exInfo.left, exInfo.right + (executor.isBusy()
+                    ? " - BUSY (" + executor.getOutstandingRecords() + " records)"
+                    : " - free"));
         }
         // generate output
         for (String info : executorInfo.values()) {
@@ -145,12 +695,73 @@ public class EmbeddingsService {
         return s.toString();
     }
 
+    /**
+     * Stop accepting new requests. Requests that are already being processed continue, use awaitIdle() to wait until
+     * they are done.
+     */
+    public void startDrain() {
+        drain.start();
+    }
+
+    /**
+     * @return true if we are shutting down and don't accept new requests
+     */
+    public boolean isDraining() {
+        return drain.isDraining();
+    }
+
+    /**
+     * @return the number of requests that are being processed (including those waiting for an executor)
+     */
+    public int getInFlight() {
+        return drain.getInFlight();
+    }
+
+    /**
+     * Wait until all requests that are being processed are finished
+     * @param timeoutMs maximum time to wait in milliseconds
+     * @return true if all requests finished, false if some were still being processed after the timeout
+     */
+    public boolean awaitIdle(long timeoutMs) {
+        return drain.awaitIdle(timeoutMs);
+    }
+
+    /**
+     * Stop all executors in parallel and wait for their processes to exit (killing those that don't). Normally this
+     * is done after draining (see ShutdownDrainer), otherwise requests that are being processed will fail.
+     * Only the first call stops the executors, later calls return immediately. This doesn't lock the service, so the
+     * status can still be requested while we are waiting for the executors to stop.
+     */
     @PreDestroy
-    private void stopExecutors() {
-        executorsFree.addAll(executorsBusy);
-        while (!executorsFree.isEmpty()) {
-            Executor executor = executorsFree.remove();
-            executor.destroy();
+    public void stopExecutors() {
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+        drain.start();
+        partThreads.shutdownNow();
+        replaceThread.shutdownNow();
+        List<Executor> executors = executorPool.removeAll();
+        if (!executors.isEmpty()) {
+            LOG.info("Stopping {} executors...", executors.size());
+            ExecutorService stopThreads = Executors.newFixedThreadPool(executors.size());
+            for (Executor executor : executors) {
+                stopThreads.submit(() -> {
+                    executor.destroy();
+                    executor.waitForExit(EXECUTOR_STOP_WAIT_TIME);
+                });
+            }
+            stopThreads.shutdown();
+            try {
+                if (!stopThreads.awaitTermination(EXECUTOR_STOP_WAIT_TIME + 5, TimeUnit.SECONDS)) {
+                    LOG.warn("Not all executors stopped within {} seconds", EXECUTOR_STOP_WAIT_TIME);
+                    stopThreads.shutdownNow(); // remaining processes are killed when their wait is interrupted
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (zygote != null) {
+            zygote.destroy();
         }
     }
 
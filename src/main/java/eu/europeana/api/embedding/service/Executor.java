@@ -3,22 +3,37 @@ package eu.europeana.api.embedding.service;
 import com.google.common.collect.Lists;
 import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
 import eu.europeana.api.embedding.exception.ExecutorException;
+import eu.europeana.api.embedding.exception.RequestTimeoutException;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.zeroturnaround.exec.ProcessExecutor;
 import org.zeroturnaround.exec.StartedProcess;
-import org.zeroturnaround.exec.stream.slf4j.Slf4jStream;
 
 import java.io.*;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
- * Class that is responsible for (re)starting and communicating with a Python process
+ * Class that is responsible for (re)starting and communicating with a Python process. Remote executors communicate
+ * with a Python process on another host that is not started (or stopped) by us.
  * @author Patrick Ehlert
  */
 public class Executor {
@@ -26,30 +41,161 @@ public class Executor {
     private static final Logger LOG = LogManager.getLogger(Executor.class);
 
     private static final String PROCESS_TERMINATE_SIGNAL = "{TERMINATE}";
+    private static final String PROCESS_PING_SIGNAL = "{PING}";
+    private static final String PROCESS_PING_ANSWER = "PONG";
+    private static final String LOCAL_HOST = "127.0.0.1";
+    private static final long KILL_WAIT_TIME = 5;
+    private static final int READY_PING_TIMEOUT = 2000; // milliseconds
+    private static final long READY_CHECK_INTERVAL = 500; // milliseconds
+
+    // number of requests (or batches) used to determine the baseline latency of a new process
+    private static final int BASELINE_REQUESTS = 10;
+    // weight of the latest request (or batch) in the rolling latencies
+    private static final double LATENCY_WEIGHT = 0.1;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    // reads the answers to requests the client stopped waiting for, so we know when the Python process is done
+    private static final ExecutorService ABANDONED_READERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "abandoned-request-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private static List<String> processLaunchCommand = Lists.newArrayList("python3.6", "./europeana_embeddings_cmd.py",
             (LOG.isDebugEnabled() ? "--verbose" : ""));
 
+    private final String host;
     private final int portNr;
     private final String directory;
+    private final int pipelineDepth;
+    private final int threads;
+    private final boolean remote;
+    private final boolean forked;
+
+    private ProcessHandle process;
+
+    // reservations and lastUsed are guarded by the ExecutorPool that hands out this executor
+    private volatile int reservations;
+    private long lastUsed;
+    private final AtomicInteger outstandingRecords = new AtomicInteger();
+    // requests the client stopped waiting for, but that the Python process is still working on
+    private final AtomicInteger abandonedRequests = new AtomicInteger();
+    private final AtomicLong processedRecords = new AtomicLong();
+    // time (in ms) of the last answer of the Python process
+    private volatile long lastProgress;
+    private volatile boolean failed;
+    private volatile boolean healthy = true;
+    private volatile String retireReason;
+    private final AtomicBoolean replaced = new AtomicBoolean();
 
-    private StartedProcess process;
+    // rolling latency per record (in ms), including the time requests wait in the pipeline
+    private int nrRequests;
+    private double recordLatency;
+    // rolling compute time per token (in ms) reported by the Python process and the baseline of the first batches
+    private int nrBatches;
+    private double computeLatency;
+    private double baselineComputeLatency;
 
     /**
      * Create a new Python executor
      * @param portNr the port number on which the process should listen
      * @param maxRecords the number of items processed before the python model should reload itself
+     * @param pipelineDepth the number of requests the Python process can handle at the same time. If larger than 1,
+     *                      the process will prepare the next request(s) while the model is processing the current one
+     * @param threads the number of threads the model may use for computations, 0 means the libraries decide (usually
+     *                one per core)
+     * @param cpuSlot if 0 or larger, the process pins itself to its own set of cpus (the available cpus are divided in
+     *                slots of 'threads' cpus), -1 means no pinning
      * @param directory the folder where the Python data is
      * @throws EuropeanaApiException when there's a problem starting the executor process
      */
-    public Executor(int portNr, int maxRecords, String directory) throws EuropeanaApiException {
+    public Executor(int portNr, int maxRecords, int pipelineDepth, int threads, int cpuSlot, String directory)
+            throws EuropeanaApiException {
+        this.host = LOCAL_HOST;
         this.portNr = portNr;
         this.directory = directory;
+        this.pipelineDepth = Math.max(1, pipelineDepth);
+        this.threads = Math.max(0, threads);
+        this.remote = false;
+        this.forked = false;
 
         // Normally we start a process with portNr, except when debugging (using the main() method)
-        processLaunchCommand.add("--port=" + portNr);
-        processLaunchCommand.add("--reload_after=" + maxRecords);
-        this.process = createProcess(processLaunchCommand.toArray(new String[0]));
+        List<String> command = getLaunchCommand();
+        command.addAll(getArguments(maxRecords, cpuSlot));
+        this.process = createProcess(command.toArray(new String[0]));
+    }
+
+    /**
+     * Create a new Python executor by asking the zygote process to fork a new worker. The worker shares the models
+     * that the zygote already loaded, so it's ready almost immediately and uses less memory.
+     * @param zygote the zygote process that should start the worker
+     * @param portNr the port number on which the worker should listen
+     * @param maxRecords the number of items processed before the python model should reload itself
+     * @param pipelineDepth the number of requests the Python process can handle at the same time
+     * @param threads the number of threads the model may use for computations, 0 means the libraries decide
+     * @param cpuSlot if 0 or larger, the worker pins itself to its own set of cpus, -1 means no pinning
+     * @throws EuropeanaApiException when the zygote could not start the worker
+     */
+    public Executor(Zygote zygote, int portNr, int maxRecords, int pipelineDepth, int threads, int cpuSlot)
+            throws EuropeanaApiException {
+        this.host = LOCAL_HOST;
+        this.portNr = portNr;
+        this.directory = null;
+        this.pipelineDepth = Math.max(1, pipelineDepth);
+        this.threads = Math.max(0, threads);
+        this.remote = false;
+        this.forked = true;
+
+        long pid = zygote.spawn(getArguments(maxRecords, cpuSlot));
+        this.process = ProcessHandle.of(pid)
+                .orElseThrow(() -> new ExecutorException("Worker process " + pid + " not found", null, true));
+        LOG.debug("Worker process with pid {} listening on port {} forked by zygote", pid, portNr);
+    }
+
+    /**
+     * @return a copy of the command to start the Python application (without arguments for a particular executor)
+     */
+    static List<String> getLaunchCommand() {
+        return new ArrayList<>(processLaunchCommand);
+    }
+
+    private List<String> getArguments(int maxRecords, int cpuSlot) {
+        List<String> result = new ArrayList<>();
+        result.add("--port=" + portNr);
+        result.add("--reload_after=" + maxRecords);
+        if (this.pipelineDepth > 1) {
+            result.add("--pipeline_depth=" + this.pipelineDepth);
+        }
+        if (this.threads > 0) {
+            result.add("--threads=" + this.threads);
+            if (cpuSlot >= 0) {
+                result.add("--cpu_slot=" + cpuSlot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create a new remote executor, communicating with a Python process that was started on another host.
+     * @param host the host name or ip address where the process is listening
+     * @param portNr the port number on which the process is listening
+     * @param pipelineDepth the number of requests the Python process can handle at the same time
+     */
+    public Executor(String host, int portNr, int pipelineDepth) {
+        this.host = host;
+        this.portNr = portNr;
+        this.directory = null;
+        this.pipelineDepth = Math.max(1, pipelineDepth);
+        this.threads = 0;
+        this.remote = true;
+        this.forked = false;
+    }
+
+    /**
+     * @return the host where the python process is listening
+     */
+    public String getHost() {
+        return this.host;
     }
 
     /**
@@ -60,96 +206,543 @@ public class Executor {
     }
 
     /**
-     * @return string containing basic information about the python process
+     * @return address of the python process in the form host:port
+     */
+    public String getAddress() {
+        return host + ":" + portNr;
+    }
+
+    /**
+     * @return true if the python process of this executor was forked by the zygote
+     */
+    public boolean isForked() {
+        return forked;
+    }
+
+    /**
+     * @return true if this executor communicates with a python process on another host that we didn't start
+     */
+    public boolean isRemote() {
+        return remote;
+    }
+
+    /**
+     * @return false if we couldn't connect to the (remote) python process the last time we tried
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * @return true if this executor can accept another request
+     */
+    boolean hasCapacity() {
+        return healthy && !failed && retireReason == null && getFreeSlots() > 0;
+    }
+
+    /**
+     * @return the number of additional requests this executor can handle at the same time. Requests the client
+     * stopped waiting for keep using a slot until the Python process has answered them.
+     */
+    int getFreeSlots() {
+        return Math.max(0, pipelineDepth - reservations - abandonedRequests.get());
+    }
+
+    /**
+     * @return true if at least one request was handed out to this executor and not yet returned
      */
-    public ImmutablePair<Integer, String> getInfo() {
-        Process p = this.process.getProcess();
-        String result = "  portnr = " + portNr + ", pid = " + p.pid() + ", isAlive = " + p.isAlive();
-        Optional<Duration> duration = p.info().totalCpuDuration();
-        if (duration.isPresent()) {
-            result = result + ", CPU duration = "+ duration.get().getSeconds();
+    public boolean isBusy() {
+        return reservations > 0;
+    }
+
+    void reserve() {
+        this.reservations++;
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    void unreserve() {
+        this.reservations--;
+    }
+
+    /**
+     * @return timestamp (in ms) of the last time this executor was handed out
+     */
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * @return the number of records that were sent to the Python process, but for which we didn't receive an answer yet
+     * (including requests the client stopped waiting for)
+     */
+    public int getOutstandingRecords() {
+        return outstandingRecords.get();
+    }
+
+    /**
+     * @return the number of records the Python process generated vectors for
+     */
+    public long getProcessedRecords() {
+        return processedRecords.get();
+    }
+
+    /**
+     * Mark this executor as retiring, meaning it won't accept new requests anymore and should be removed from the pool
+     * as soon as it's done with its current work
+     * @param reason the reason for retiring
+     */
+    void retire(String reason) {
+        this.retireReason = reason;
+    }
+
+    /**
+     * @return true if this executor won't accept new requests anymore
+     */
+    public boolean isRetiring() {
+        return retireReason != null;
+    }
+
+    /**
+     * @return the reason this executor is retiring, null if it isn't
+     */
+    public String getRetireReason() {
+        return retireReason;
+    }
+
+    /**
+     * Claim the replacement of this executor, so we never start more than one replacement
+     * @return true if the caller should replace this executor, false if it was already claimed before
+     */
+    boolean claimReplacement() {
+        return replaced.compareAndSet(false, true);
+    }
+
+    /**
+     * @return the resident set size (memory usage) of the Python process in bytes, or -1 if that can't be determined
+     * (only supported on Linux)
+     */
+    public long getRssBytes() {
+        if (remote) {
+            return -1;
+        }
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        try (Stream<String> lines = Files.lines(status)) {
+            // line looks like "VmRSS:    123456 kB"
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")) * 1024)
+                    .findFirst()
+                    .orElse(-1L);
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            LOG.trace("Unable to read memory usage of process {}", process.pid(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * @return the memory used by the Python process in bytes, or -1 if that can't be determined (only supported on
+     * Linux). For processes forked by the zygote this is the unique set size (private memory only), because the
+     * memory they share with the zygote (the models) is not freed when they are recycled. For other processes it's
+     * the resident set size.
+     */
+    public long getMemoryBytes() {
+        if (!forked) {
+            return getRssBytes();
+        }
+        String pid = String.valueOf(process.pid());
+        // smaps_rollup is only available on Linux 4.14 and later, smaps contains the same lines per memory mapping
+        for (String file : List.of("smaps_rollup", "smaps")) {
+            try (Stream<String> lines = Files.lines(Path.of("/proc", pid, file))) {
+                // lines look like "Private_Dirty:    123456 kB"
+                return lines.filter(line -> line.startsWith("Private_Clean:") || line.startsWith("Private_Dirty:"))
+                        .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")) * 1024)
+                        .sum();
+            } catch (IOException | UncheckedIOException | NumberFormatException e) {
+                LOG.trace("Unable to read {} of process {}", file, pid, e);
+            }
         }
-        return new ImmutablePair<>(portNr, result);
+        return -1;
     }
 
     /**
-     * Send new data to the Python process and return its output
+     * @return rolling average processing time per record in milliseconds, 0 if nothing was processed yet
+     */
+    public synchronized double getRecordLatency() {
+        return recordLatency;
+    }
+
+    /**
+     * Update the rolling latency per record with the processing time of a request
+     * @param durationMs time it took to process the request in milliseconds
+     * @param nrRecords number of records in the request
+     */
+    synchronized void updateRecordLatency(long durationMs, int nrRecords) {
+        nrRequests++;
+        recordLatency = getRollingAverage(recordLatency, durationMs / (double) nrRecords, nrRequests);
+    }
+
+    /**
+     * @return rolling average compute time per token in milliseconds, 0 if nothing was computed yet
+     */
+    public synchronized double getComputeLatency() {
+        return computeLatency;
+    }
+
+    /**
+     * @return average compute time per token in milliseconds of the first batches this process computed, 0 if not
+     * enough batches were computed yet to determine the baseline
+     */
+    public synchronized double getBaselineComputeLatency() {
+        return (nrBatches >= BASELINE_REQUESTS ? baselineComputeLatency : 0);
+    }
+
+    /**
+     * Update the rolling compute latency with the statistics the Python process reports for a batch. Unlike the
+     * processing time of a request this doesn't include time spent waiting in the pipeline and, because it's counted
+     * per (padded) token, doesn't depend on the length of the records in the batch.
+     * @param computeMs time it took to compute the batch in milliseconds
+     * @param nrTokens number of (padded) tokens in the batch
+     */
+    public synchronized void updateComputeLatency(double computeMs, double nrTokens) {
+        nrBatches++;
+        computeLatency = getRollingAverage(computeLatency, computeMs / nrTokens, nrBatches);
+        if (nrBatches <= BASELINE_REQUESTS) {
+            baselineComputeLatency = computeLatency;
+        }
+    }
+
+    /**
+     * The rolling average is a plain average of the first values and an exponentially weighted average after that
+     */
+    private static double getRollingAverage(double average, double value, int count) {
+        if (count <= BASELINE_REQUESTS) {
+            return average + (value - average) / count;
+        }
+        return average + LATENCY_WEIGHT * (value - average);
+    }
+
+    /**
+     * @return pair of the executor address and a string containing basic information about the python process
+     */
+    public ImmutablePair<String, String> getInfo() {
+        String result;
+        if (remote) {
+            result = "  remote = " + getAddress() + ", isHealthy = " + healthy;
+        } else {
+            ProcessHandle p = this.process;
+            result = "  portnr = " + portNr + ", pid = " + p.pid() + ", isAlive = " + p.isAlive();
+            Optional<Duration> duration = p.info().totalCpuDuration();
+            if (duration.isPresent()) {
+                result = result + ", CPU duration = " + duration.get().getSeconds();
+            }
+        }
+        long rss = getRssBytes();
+        if (rss >= 0) {
+            result = result + ", RSS = " + rss / (1024 * 1024) + " MiB";
+        }
+        if (forked) {
+            long uss = getMemoryBytes();
+            if (uss >= 0) {
+                result = result + ", USS = " + uss / (1024 * 1024) + " MiB";
+            }
+        }
+        result = result + String.format(Locale.ROOT, ", ms/record = %.1f, ms/token = %.4f (baseline %.4f)",
+                getRecordLatency(), getComputeLatency(), getBaselineComputeLatency());
+        return new ImmutablePair<>(getAddress(), result);
+    }
+
+    /**
+     * Send new data to the Python process and return its output. If the client deadline expires before the process
+     * answers, the request keeps counting as outstanding work (and keeps using a pipeline slot) until the process
+     * answers it, because the process will finish it before it can start on anything else.
      * @param dataJson record data in json format
      * @param nrRecords the number of items we are sending
+     * @param timeoutMs maximum time in milliseconds to wait for the Python process to answer (the client's deadline).
+     *                  If there is no answer in time, only this request is aborted.
+     * @param hangTimeoutMs if the Python process didn't answer any request for this number of milliseconds while
+     *                      working on this request, it's considered to be hanging and the executor is marked as failed
+     *                      (or unhealthy if it's remote). This also applies after the client deadline expired. 0 means
+     *                      never.
      * @return Python process output
      * @throws ExecutorException where there's a problem communicating with the Python process
+     * @throws RequestTimeoutException when the Python process doesn't answer in time
      */
     @SuppressWarnings("javasecurity:S5145") // we do want to log input (only when TRACE is enabled)
-    public String sendData(String dataJson, int nrRecords) throws EuropeanaApiException {
-        String result = null;
-
-        LOG.debug("Opening socket on port {}", portNr);
-        try (Socket socket = new Socket("127.0.0.1", this.portNr);
-             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, Charset.defaultCharset());
-             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), Charset.defaultCharset()))) {
-                LOG.trace("Sending json data: {}", dataJson);
-                out.println(dataJson);
-                while (result == null) {
-                    result = in.readLine();
-                    LOG.trace("Waiting for answer...");
-                    Thread.sleep(500);
-                }
-                LOG.trace("Received answer: {}", result);
+    public String sendData(String dataJson, int nrRecords, long timeoutMs, long hangTimeoutMs)
+            throws EuropeanaApiException {
+        String result;
+
+        long start = System.currentTimeMillis();
+        outstandingRecords.addAndGet(nrRecords);
+        LOG.debug("Opening socket to {}", getAddress());
+        long deadline = start + timeoutMs;
+        Socket socket = new Socket();
+        boolean abandoned = false;
+        try {
+            socket.connect(new InetSocketAddress(host, this.portNr), getWaitTime(deadline, start, hangTimeoutMs));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, Charset.defaultCharset());
+            LOG.trace("Sending json data: {}", dataJson);
+            out.println(dataJson);
+            LOG.trace("Waiting for answer...");
+            result = readAnswer(socket, deadline, start, hangTimeoutMs);
+            LOG.trace("Received answer: {}", result);
+            if (result != null) {
+                answered(start, nrRecords);
+            }
+        } catch (SocketTimeoutException e) {
+            if (isHanging(start, hangTimeoutMs)) {
+                markHanging(hangTimeoutMs);
+            } else if (socket.isConnected()) {
+                // closing the connection won't stop the process, so we keep track of the request until it's answered
+                LOG.warn("Executor {} didn't answer within request timeout of {} ms", getAddress(), timeoutMs);
+                abandoned = true;
+                abandon(socket, start, nrRecords, hangTimeoutMs);
+            }
+            throw new RequestTimeoutException(timeoutMs);
         } catch (IOException e) {
-            Process p = process.getProcess();
-            LOG.error("Executor error: process pid {}, port {}, isAlive {}", p.pid(), portNr, p.isAlive());
+            LOG.error("Executor error: {}", getInfo().right);
+            if (remote) {
+                // we can't replace remote executors, so we stop using them until a health check succeeds
+                this.healthy = false;
+            } else {
+                // if the process is still alive it may still be starting up, so we only replace dead ones
+                this.failed = !process.isAlive();
+            }
             throw new ExecutorException("Executor not available!", e, true);
-
-            // TODO try if restarting process works?!
-        } catch (InterruptedException e) {
-            LOG.error("Interruption while waiting for Python process", e );
-            Thread.currentThread().interrupt();
+        } finally {
+            if (!abandoned) {
+                outstandingRecords.addAndGet(-nrRecords);
+                closeQuietly(socket);
+            }
         }
 
         return result;
     }
 
-    private StartedProcess createProcess(String... commands) throws EuropeanaApiException {
-        long start = System.currentTimeMillis();
-        LOG.debug("Starting new embedding process in folder {}...", new File(".").getAbsolutePath());
-        StartedProcess result = null;
+    /**
+     * Wait in the background for the answer to a request the client stopped waiting for
+     */
+    private void abandon(Socket socket, long start, int nrRecords, long hangTimeoutMs) {
+        abandonedRequests.incrementAndGet();
+        ABANDONED_READERS.submit(() -> {
+            try {
+                if (readAnswer(socket, Long.MAX_VALUE, start, hangTimeoutMs) != null) {
+                    answered(start, nrRecords);
+                    LOG.debug("Executor {} answered abandoned request after {} ms", getAddress(),
+                            System.currentTimeMillis() - start);
+                }
+            } catch (SocketTimeoutException e) {
+                markHanging(hangTimeoutMs);
+            } catch (IOException e) {
+                LOG.debug("Error reading answer of abandoned request from executor {}", getAddress(), e);
+                if (!remote) {
+                    this.failed = !process.isAlive();
+                }
+            } finally {
+                outstandingRecords.addAndGet(-nrRecords);
+                abandonedRequests.decrementAndGet();
+                closeQuietly(socket);
+            }
+        });
+    }
+
+    private void answered(long start, int nrRecords) {
+        lastProgress = System.currentTimeMillis();
+        processedRecords.addAndGet(nrRecords);
+        if (nrRecords > 0) {
+            updateRecordLatency(lastProgress - start, nrRecords);
+        }
+    }
+
+    private void markHanging(long hangTimeoutMs) {
+        LOG.error("Executor didn't answer for {} ms: {}", hangTimeoutMs, getInfo().right);
+        if (remote) {
+            this.healthy = false;
+        } else {
+            this.failed = true;
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
         try {
-            ProcessExecutor pe = new ProcessExecutor()
-                    .directory(new File(this.directory))
-                    .command(commands)
-                    .redirectError(Slf4jStream.of("Python").asError())
-                    .exitValue(0);
-            if (LOG.isDebugEnabled()) {
-                // In Python we need to explicitely flush logs which we only do every once in a while,
-                // so timestamps are often inaccurate
-                    pe.redirectOutput(Slf4jStream.of("Python").asDebug());
+            socket.close();
+        } catch (IOException e) {
+            LOG.trace("Error closing socket", e);
+        }
+    }
+
+    /**
+     * Read the answer of the Python process (until a newline or until it closes the connection). If the request
+     * deadline hasn't expired, we keep waiting as long as the process answers other requests in time.
+     * @return the answer, null if the process closed the connection without sending anything
+     * @throws SocketTimeoutException if the deadline expired or the process is hanging
+     */
+    private String readAnswer(Socket socket, long deadline, long start, long hangTimeoutMs) throws IOException {
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream answer = new ByteArrayOutputStream();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        while (true) {
+            socket.setSoTimeout(getWaitTime(deadline, start, hangTimeoutMs));
+            int nrBytes;
+            try {
+                nrBytes = in.read(buffer);
+            } catch (SocketTimeoutException e) {
+                if (System.currentTimeMillis() >= deadline || isHanging(start, hangTimeoutMs)) {
+                    throw e;
+                }
+                continue; // another request was answered in the meantime, so the process isn't hanging
+            }
+            if (nrBytes < 0) {
+                return answer.size() == 0 ? null : answer.toString(Charset.defaultCharset());
+            }
+            for (int i = 0; i < nrBytes; i++) {
+                if (buffer[i] == '\n') {
+                    answer.write(buffer, 0, i);
+                    return answer.toString(Charset.defaultCharset());
+                }
             }
-            result = pe.start();
+            answer.write(buffer, 0, nrBytes);
+        }
+    }
+
+    /**
+     * @return number of milliseconds to wait for the Python process, until either the deadline expires or the process
+     * would be considered hanging (at least 1, because 0 means no timeout for sockets)
+     */
+    private int getWaitTime(long deadline, long start, long hangTimeoutMs) {
+        long now = System.currentTimeMillis();
+        long result = deadline - now;
+        if (hangTimeoutMs > 0) {
+            result = Math.min(result, Math.max(lastProgress, start) + hangTimeoutMs - now);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, result));
+    }
+
+    /**
+     * @return true if the Python process hasn't answered anything for the provided number of milliseconds since we
+     * sent a request at the provided time
+     */
+    private boolean isHanging(long start, long hangTimeoutMs) {
+        return hangTimeoutMs > 0 && System.currentTimeMillis() - Math.max(lastProgress, start) >= hangTimeoutMs;
+    }
+
+    /**
+     * @return true if the Python process didn't answer in time or has died, in which case it is in an unknown state
+     * and should not be used anymore
+     */
+    public boolean hasFailed() {
+        return failed;
+    }
+
+    /**
+     * Check if the Python process is reachable and responding. The healthy status of this executor is updated with
+     * the result. Note that a Python process that isn't running in pipelined mode can't answer while it's busy.
+     * @param timeoutMs maximum time in milliseconds to wait for an answer
+     * @return true if the process answered, otherwise false
+     */
+    public boolean ping(int timeoutMs) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, this.portNr), timeoutMs);
+            socket.setSoTimeout(timeoutMs);
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, Charset.defaultCharset());
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), Charset.defaultCharset()));
+            out.println(PROCESS_PING_SIGNAL);
+            this.healthy = PROCESS_PING_ANSWER.equals(in.readLine());
         } catch (IOException e) {
-            throw new ExecutorException("Error creating process", e, true);
+            LOG.debug("Ping to {} failed", getAddress(), e);
+            this.healthy = false;
         }
+        return this.healthy;
+    }
+
+    /**
+     * Wait until the Python process answers a ping, meaning it has loaded its model and is listening
+     * @param timeoutMs maximum time to wait in milliseconds
+     * @return true if the process is ready, false if it didn't answer in time or stopped
+     */
+    public boolean awaitReady(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!ping(READY_PING_TIMEOUT)) {
+            if ((!remote && !process.isAlive()) || System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(READY_CHECK_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ProcessHandle createProcess(String... commands) throws EuropeanaApiException {
+        long start = System.currentTimeMillis();
+        StartedProcess result = ExecutorUtils.startProcess(this.directory, this.threads, commands);
         LOG.debug("Process with pid {} listening on port {} created in {} ms", result.getProcess().pid(), portNr, System.currentTimeMillis() - start);
-        return result;
+        return result.getProcess().toHandle();
     }
 
     /**
      * Kill the Python process of this executor.
      */
     public void destroy()  {
-        String processId = (process == null ? "null" : String.valueOf(process.getProcess().pid()));
+        if (remote) {
+            LOG.debug("Not stopping remote executor {}", getAddress());
+            return;
+        }
+        String processId = (process == null ? "null" : String.valueOf(process.pid()));
 
         LOG.debug("Sending terminate signal to process {} (executor with port {})", processId, portNr);
-        try (Socket socket = new Socket("127.0.0.1", this.portNr);
+        try (Socket socket = new Socket(host, this.portNr);
              PrintWriter out = new PrintWriter(socket.getOutputStream(), true, Charset.defaultCharset())) {
             out.println(PROCESS_TERMINATE_SIGNAL);
         } catch (IOException e) {
             LOG.error("Error sending terminate signal to process {}. Forcing process kill...", processId, e);
-            if (process != null && process.getProcess() != null) {
-                process.getProcess().destroyForcibly();
+            if (process != null) {
+                process.destroyForcibly();
             }
         }
     }
 
+    /**
+     * Forcibly kill the Python process of this executor without waiting for it to finish its current work, for
+     * example because it is not responding anymore. We wait a few seconds so its port is freed.
+     */
+    public void kill() {
+        if (remote) {
+            return;
+        }
+        ProcessHandle p = process;
+        LOG.warn("Killing process {} (executor with port {})", p.pid(), portNr);
+        p.destroyForcibly();
+        waitForExit(KILL_WAIT_TIME);
+    }
+
+    /**
+     * Wait until the Python process of this executor has stopped. If it's still running after the provided time (or
+     * we are interrupted while waiting) it is killed. This works for both forked workers and processes we started.
+     * @param seconds maximum number of seconds to wait
+     */
+    public void waitForExit(long seconds) {
+        if (remote) {
+            return;
+        }
+        ProcessHandle p = process;
+        try {
+            p.onExit().get(seconds, TimeUnit.SECONDS);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting for process {} to exit, killing it", p.pid());
+        } catch (ExecutionException | TimeoutException e) {
+            LOG.warn("Process {} (executor with port {}) didn't exit within {} seconds, killing it", p.pid(), portNr,
+                    seconds);
+        }
+        if (!p.destroyForcibly() && p.isAlive()) {
+            LOG.error("Unable to kill process {} (executor with port {})", p.pid(), portNr);
+        }
+    }
+
     /**
      * This method can be used for testing the Python answering_socket.py functionality independently
      * @param args
@@ -159,15 +752,15 @@ public class Executor {
 //    public static void main(String[] args) {
 //        try {
 //            Executor.processLaunchCommand = Lists.newArrayList("python3", "./answering_socket.py", "--verbose");
-//            Executor executor = new Executor(12001, 5, "./python/embeddings-python");
+//            Executor executor = new Executor(12001, 5, 1, 0, -1, "./python/embeddings-python");
 //
 //            Thread.sleep(1000); // give the executor time to start the python process
 //
 //            String diacritics = "{\"records\":[{\"id\":\"2051930/data_euscreenXL_EUS_15E66C6E09246457E9BB404CF394746E\",\"title\":[\"Premiera drame Le zaljubiti se ne smemo\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-03-31\",\"31/03/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0B9EA32B13CCC109A381C61A09AEA71E\",\"title\":[\"Studio 8.1 concert cycle at Circulation 2\",\"Koncertni cikel Studio 8.1 v Cirkuaciji 2\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-11-29\",\"29/11/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_09E58F2A114DE0E12D4A3E983F39E51A\",\"title\":[\"Posledice ukrepov v kulturno-ustvarjalnem sektorju\"],\"description\":[\"A central mosaic broadcast by the Editorial Board of Culture broadcasts. The eighth day is a cosmopolitan show in which all forms of classical and contemporary artistic creation, humanism, cultural heritage, phenomenological and sociological treatment of topics and cultural policy are found.\\nThe show is led by Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"07/05/2021\",\"2021\",\"2021-05-07\"]},{\"id\":\"2051930/data_euscreenXL_EUS_06044CE4EF2C0E98C1778AB695C8126D\",\"title\":[\"TV JOURNAL 02/08/2004\",\"SERIES TITLE: TV JOURNAL\"],\"description\":[\"Obala: Scientists say that the natural heritage of the Slovene section of the Adriatic Sea is spectacular; hence more and more plant and animal species are now protected. But it seems that tourists and locals do not know enough about this, since there was a real pillage of the largest protected Adriatic shells, which took place recently.\",\"Extended description:\\nObala: ropanje školjk, ki so zaščitene – leščurji, leščurji na dnu morja, potapljač, izjava Robert SMOJE, ribiški inšpektor, morsko dno, izjava Robert TURK, Zavod RS za varstvo narave, morski konjiček.\"],\"creator\":[\"Jelačin, Dejan (novinar/journalist)\",\"Poles, Peter (slika/camera)\"],\"tags\":[\"ASPECT RATIO: 4:3\",\"CLIP\",\"Colour\",\"Environment and Nature\",\"Natural World\",\"News\",\"oceanografija\",\"Oceanography\",\"Stereo\",\"varovanje narave\",\"VIDEO\",\"zoologija - živalstvo\"],\"places\":[\"Slovenia\"],\"times\":[\"02/08/2004\",\"2004\",\"2004-08-02\"]},{\"id\":\"2051930/data_euscreenXL_EUS_073763F3EC8CDECC42896EF230ED2BC4\",\"title\":[\"Nepočesane misli, novi roman Emila Filipčiča\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"13/08/2021\",\"2021\",\"2021-08-13\"]},{\"id\":\"2051930/data_euscreenXL_EUS_13E344586FEEA1B1B23F4D3C58BE4518\",\"title\":[\"AROUND SLOVENIA 05/03/1996\",\"SERIES TITLE: AROUND SLOVENIA\",\"Clip title: Lončarski sejem/Pottery fair\"],\"description\":[\"Novo mesto: colorful pottery fair in Novo mesto.\",\"Extended description:\\nNovo mesto: lončarski sejem; stojnice, ponudba posodja in okrasnih predmetov, izjave Karol ŽUMAN, lončar iz  Ljutomera, Jože PUNGERČAR, lončar iz ��entjerneja in Zdenko PICELJ, ravnatelj dolenjskega muzeja.\"],\"creator\":[\"Držaj, Petra (novinarka/journalist)\",\"Hartman, Jože (slika/camera)\"],\"tags\":[\"ASPECT RATIO: 4:3\",\"CLIP\",\"Colour\",\"Customs & Traditions\",\"etnologija - materialna kultura: obrt, gospodarstvo, stavbarstvo, noša, prehrana\",\"muzeji\",\"News\",\"Novo Mesto\",\"obrt\",\"sejmi\",\"Stereo\",\"VIDEO\",\"Work and production\"],\"places\":[\"Slovenia\"],\"times\":[\"05/03/1996\",\"1996\",\"1996-03-05\"]},{\"id\":\"2051930/data_euscreenXL_EUS_020168D31ABBABF3DD2AC445EC7FE836\",\"title\":[\"Vetrinjski dvor: razstava Marjana Mirta\",\"Vetrini court: Marjan Mirta exhibition\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"10/11/2021\",\"2021\",\"2021-11-10\"]},{\"id\":\"2051930/data_euscreenXL_EUS_001EF95C6FF359E346807946E78F383F\",\"title\":[\"The premiere of the Slovene film Inventura, Kinodvor\",\"Premiera slovenskega filma Inventura, Kinodvor\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"04/05/2022\",\"2022\",\"2022-05-04\"]},{\"id\":\"2051930/data_euscreenXL_EUS_15358DCC2B4AAF3CED0A66A952ADECDB\",\"title\":[\"TV REVIEW 24/07/1963\",\"SERIES TITLE: TV REVIEW\",\"Clip title: Karlovški most/Karlovški bridge\"],\"description\":[\"Ljubljana - a disorderly traffic junction at the Karlovški bridge and traffic chaos.\",\"Extended description:\\nDobro si oglejte sliko na vaših zaslonih, to je Karlovški most ali »mrtvaška brv«, kot ga imenujejo tam okoli, most, na katerega se stekajo poleg zagrebške vpadnice še štiri važne in zelo prometne ceste, da ne govorimo o cesti, ki pripelje strmo z ljubljanskega gradu naravnost na nepregledno križišče na mestni strani mostu in potem zavije mimo številnih avtomobilov in konjskih vpreg nanj. Nič napak ne bo, če rečemo, da je to najbolj prometno vozlišče v Ljubljani, ki vsaj v tem trenutku – kljub dolgoletnim obljubam nima nobenih izgledov, da bi bilo v kratkem rešeno.\\nNajbolj bo to razumel voznik, ki je že kdaj pripeljal z dolenjske strani in okoli ovinka dobesedno »padel« na most. O tem, da to ne uspe vedno najbolje pričajo lesena mašila v železni ograji. Pričajo o vseh vozilih, ki so že padla preko roba, nekaj metrov globoko dol v reko in o voznikih, ki so tu izgubili življenje – v zadnjih dveh letih štirje.\\nDokler ne bomo uredili vozlišča tudi ogledala in stop-znaki ne bodo rešili problema, mi pa bomo vsako leto zavestno žrtvovali »mrtvaški brvi« po dva člana naše skupnosti ter za nekaj milijonov razbitih vozil.\\nLjubljana: neurejeno prometno vozlišče Karlovški most je prizorišče številnih prometnih nesreč; most nad Gruberjevim kanalom, promet prek starega mosta in neurejeno križišče ob njem, kaos v prometu, miličnik ureja promet.\"],\"creator\":[\"Kragelj, Mirč (režiser/director)\"],\"tags\":[\"ASPECT RATIO: 4:3\",\"Black & White\",\"CLIP\",\"Mute\",\"News\",\"promet\",\"prometne nesreče\",\"Road Transport\",\"Transport\",\"Transportation, science and technology\",\"VIDEO\"],\"places\":[\"Slovenia\"],\"times\":[\"1963\",\"1963-07-24\",\"24/07/1963\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0E3C091D7DB2F8406C1D01C9866FC13D\",\"title\":[\"The independent route of Wolfgang Flür\",\"Samostojna pot Wolfganga Flüra\"],\"description\":[\"A central mosaic broadcast by the Editorial Board of Culture broadcasts. The eighth day is a cosmopolitan show in which all forms of classical and contemporary artistic creation, humanism, cultural heritage, phenomenological and sociological treatment of topics and cultural policy are found.\\nThe show is led by Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"11/02/2022\",\"2022\",\"2022-02-11\"]},{\"id\":\"2051930/data_euscreenXL_EUS_044F97364AF972F4D46787DCC2DC81F6\",\"title\":[\"Izselitev Muzeja norosti iz gradu Cmurek?\"],\"description\":[\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"A central mosaic broadcast by the Editorial Board of Culture broadcasts. The eighth day is a cosmopolitan show in which all forms of classical and contemporary artistic creation, humanism, cultural heritage, phenomenological and sociological treatment of topics and cultural policy are found.\\nThe show is led by Polona Balantič.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"02/04/2021\",\"2021\",\"2021-04-02\"]},{\"id\":\"2051930/data_euscreenXL_EUS_02C464A1E5C5DDFF46BD0633B04630CD\",\"title\":[\"Film Bergmanov otok v Kinodvoru\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2022\",\"2022-04-28\",\"28/04/2022\"]},{\"id\":\"2051930/data_euscreenXL_EUS_104F528FDF24C70C0B3C558CA8A4A78E\",\"title\":[\"AGRFT končno ima nove sodobne prostore\"],\"description\":[\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"A central mosaic broadcast by the Editorial Board of Culture broadcasts. The eighth day is a cosmopolitan show in which all forms of classical and contemporary artistic creation, humanism, cultural heritage, phenomenological and sociological treatment of topics and cultural policy are found.\\nThe show is led by Polona Balantič.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"08/10/2021\",\"2021\",\"2021-10-08\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0A99059BF04E2643C4DD7F99468A86EA\",\"title\":[\"Nov roman Draga Jančarja Ob nastanku sveta\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje od2023-12-05T15:53:51.394900549Z daje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"10/04/2022\",\"2022\",\"2022-04-10\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0C96AA3AB9B6604C423C444F45CB9A9F\",\"title\":[\"Cankarjevi torki: spletni koncert zasedbe Dan D\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"19/01/2021\",\"2021\",\"2021-01-19\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0562315A60276B80F8A5C3D8C09FBACF\",\"title\":[\"TV JOURNAL 17/08/2005\",\"SERIES TITLE: TV JOURNAL\",\"Clip title: Projekt Rešimo želve/A project Save Sea Turtles\"],\"description\":[\"Piran: The Piran section of the Institute of the Republic of Slovenia for Nature and the Piran Aquarium have carried out the project, entitled Save Sea Turtles in the Slovene section of the Adriatic for several years now. The project is part of the preservation programme for sea turtles in the Mediterranean. Its aim is to save the turtles caught in fishing nets and to release them back into their natural environment.\",\"Extended description:\\nPiran: reševanje želv, Akvarij Piran, želva, izjava Robert TURK, Zavod za varstvo narave Piran, izjava Nina OREHAR, Azil za divje živali Kranj, izjava Marjan TONČIČ, ravnatelj Srednje pomorske šole Piran.\"],\"creator\":[\"Jelačin, Dejan (novinar/journalist)\",\"Marušič, Aleš (slika/camera)\"],\"tags\":[\"Animals\",\"ASPECT RATIO: 4:3\",\"CLIP\",\"Colour\",\"Environment and Nature\",\"News\",\"ribištvo\",\"Stereo\",\"varovanje narave\",\"VIDEO\",\"zoologija - živalstvo\"],\"places\":[\"Slovenia\"],\"times\":[\"17/08/2005\",\"2005\",\"2005-08-17\"]},{\"id\":\"2051930/data_euscreenXL_EUS_03A86E413E55424B7CCC81E9696399F1\",\"title\":[\"Razstava Mance Juvan Istanbul, Obrazi svobode v Atriju ZRC\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-04-29\",\"29/04/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_1190D8362A9EAC477E41482D329A04CB\",\"title\":[\"Jaz, fikus – razstava Špele Petrič v galeriji Kresija\",\"I, the Fiction - an exhibition by Špetrič in the Kresi Gallery\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"08/06/2021\",\"2021\",\"2021-06-08\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0F2C58F71C4942A673CFFC95A8FF557C\",\"title\":[\"Odprte hiše Slovenije\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"18/09/2021\",\"2021\",\"2021-09-18\"]},{\"id\":\"2051930/data_euscreenXL_EUS_12CF99079C6082CA565573F196928BE3\",\"title\":[\"Jani Kovačič z deli Giorgia Gaberščika\",\"Jani Kovačič with works by Giorgio Gaberščik\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"19/11/2021\",\"2021\",\"2021-11-19\"]},{\"id\":\"2051930/data_euscreenXL_EUS_081AC8A835C6C4DCE47BCC7387B567AD\",\"title\":[\"Pussy Riot v Ljubljani\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2022\",\"2022-05-27\",\"27/05/2022\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0943A928346FD4533321C7141C6C8949\",\"title\":[\"Psihološka srhljivka Sinoči v Sohu prihaja na redni spored\",\"Psychological heartbeat Last night in Soho comes to the regular schedule\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-10-29\",\"29/10/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0D448DAAF153475A9D0A94249B92C5E9\",\"title\":[\"Opening of an international group exhibition Beyond Borders\",\"Odprtje mednarodne skupinske razstavo Onkraj meja\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-09-29\",\"29/09/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_014633D74EC4C9AB158F135B0B6C97A0\",\"title\":[\"Razstava del Fortunata Berganta v Narodni galeriji\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"11/03/2021\",\"2021\",\"2021-03-11\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0A03B68A01767F3BEBBA55B3D4E7CA2F\",\"title\":[\"Film pod zvezdami s predpremiero Hrupne sosede\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-07-29\",\"29/07/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_04982866099CBAEE5FAA44E42FFD4353\",\"title\":[\"Clip title: Kolovrat\",\"AROUND SLOVENIA 10/10/1995\",\"SERIES TITLE: AROUND SLOVENIA\"],\"description\":[\"Extended description:\\nKolovrat: Zasavsko hribovje v okolici, ruševine gradu, cerkev, križev pot avtorja Jurija ŠUBICA, oltarna slika Poklon treh kraljev - avtor verjetno Layer, o cerkvi govori župnik Janez SELAN, kor z orglami, grobnica, obnovljen stolp, domačija Pirkovič, Marija PIRKOVIČ kuha žganje, kotel za žganjekuho, pripoveduje Cerkev sv. Kunigunde, panorama vasi Kolovrat. 300 let stara kmečka hiša, nekdaj gostilna, izjava Marija GRADIŠAR, notranjost hiše, zunanjost, potok, mlin, ki propada, slaba cesta, traktor, siliranje, izjava Ivan GRABNAR, čebelar, njegova bajta in čebelnjak, panji, panorama vasi, gasilski dom (freska sv. Florijana), izjava Jože BERGANT, notranjost gasilskega doma, oprema, otroci na poti iz šole, o šoli nekdaj pripoveduje upokojena učiteljica Jelena ZUPANČIČ.\",\"Our place: introducing the village of Kolovrat, which lies high in the hills of Zasavje.\"],\"creator\":[\"Naglav, Gregor (slika/camera)\",\"Rozina, Roman (novinar/journalist)\"],\"tags\":[\"Art of painting\",\"ASPECT RATIO: 4:3\",\"cerkve\",\"Clip\",\"Colour\",\"Customs & Traditions\",\"domača - hišna obrt\",\"etnologija - materialna kultura: obrt, gospodarstvo, stavbarstvo, noša, prehrana\",\"gradovi\",\"Kolovrat\",\"Lifestyle and consumerism\",\"News\",\"slikarstvo\",\"Stereo\",\"VIDEO\",\"Zasavsko hribovje\"],\"places\":[\"Slovenia\"],\"times\":[\"10/10/1995\",\"1995\",\"1995-10-10\"]},{\"id\":\"2051930/data_euscreenXL_EUS_15ED39587179A1624A8497D789BBE49C\",\"title\":[\"Razstava o motivu Judite in Holoferna v rimski Palači Barberini\",\"Exhibition on the Judite and Holoferna motif at the Barberini Palace in Rome\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"03/01/2022\",\"2022\",\"2022-01-03\"]},{\"id\":\"2051930/data_euscreenXL_EUS_076295B9FC406AD8020A01F7404058CD\",\"title\":[\"Projekt The Proposal Jill Magid o privatizaciji umetniških del\"],\"description\":[\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"A central mosaic broadcast by the Editorial Board of Culture broadcasts. The eighth day is a cosmopolitan show in which all forms of classical and contemporary artistic creation, humanism, cultural heritage, phenomenological and sociological treatment of topics and cultural policy are found.\\nThe show is led by Polona Balantič.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"05/03/2021\",\"2021\",\"2021-03-05\"]},{\"id\":\"205192023-12-05T15:53:51.394900549Z 30/data_euscreenXL_EUS_14097681E3F059A6AFFF8A8C89847434\",\"title\":[\"Koncert Bowraina v Cukrarni\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2022\",\"2022-03-24\",\"24/03/2022\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0610B793F5B4B5C064B3B47CFCDC674C\",\"title\":[\"Gala baletni koncert Povabilo na ples\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"17/06/2021\",\"2021\",\"2021-06-17\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0E3DF08AFA8F15201E48B82EE7C0F53E\",\"title\":[\"Ciril Jazbec - prejemnik prestižne nagrade World Press Photo\",\"Cyril Jazbec - recipient of the prestigious World Press Photo Award\"],\"description\":[\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"A central mosaic broadcast by the Editorial Board of Culture broadcasts. The eighth day is a cosmopolitan show in which all forms of classical and contemporary artistic creation, humanism, cultural heritage, phenomenological and sociological treatment of topics and cultural policy are found.\\nThe show is led by Polona Balantič.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-04-23\",\"23/04/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0059B21FDE5D52E578A0B63739AD7DCE\",\"title\":[\"Why theater. Crisis and renovation, translation of a book by a German journalist\",\"Zakaj gledališče. Kriza in prenova, prevod knjige nemškega novinarja\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"11/01/2022\",\"2022\",\"2022-01-11\"]},{\"id\":\"2051930/data_euscreenXL_EUS_155114A17CAB787AC4C917798C2DE7CE\",\"title\":[\"Razstava Future Shock, 180 Studios, 16 instalacij t. i. potopitvene umetnosti\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"04/05/2022\",\"2022\",\"2022-05-04\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0BC15846EED9DF05F7757D0D2A772EFB\",\"title\":[\"Odprto pismo politiki: Mladi samozaposleni v kulturi potrebujejo pomoč!\",\"An open letter to politics: Young self-employed people in culture need help!\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2022\",\"2022-01-24\",\"24/01/2022\"]},{\"id\":\"2051930/data_euscreenXL_EUS_106B56C03510776FAC59D1ADE0339EEC\",\"title\":[\"Nov potniški terminal na brniškem letališču\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"03/07/2021\",\"2021\",\"2021-07-03\"]},{\"id\":\"2051930/data_euscreenXL_EUS_057DC9AE956057168C027F1368C292CB\",\"title\":[\"TV JOURNAL I 19/08/1979\",\"SERIES TITLE: TV JOURNAL\",\"Clip title: Turizem v Savinjski dolini/Tourism in the Savinja Valley\"],\"description\":[\"Savinja Valley: Tourism in the Savinja Valley.\",\"Extended description:\\nPri nas na srečo ne poznamo tako množičnih dopustov kot v Italiji, tisto o vračanju pa bo že v prihodnjih dneh veljalo tudi za naše kraje. Ceste bodo prav kmalu spet dobesedno poplavljene s pločevino, le da zdaj v nasprotni smeri – proti severu. Med prvimi se bodo zaradi ohladitev in hladnega vremena, izpraznili kraji, ki jih od morja loči 150, 200 in več kilometrov. O teh pravzaprav med počitnicami nismo kaj prida govorili, pa vendar je bilo turistično življenje na primer na Pohorju, v zgornji Savinjski in Logarski dolini, v dolini reke Soče in še marsikje, skorajda prav tako razgibano kot ob morju ali z znanih hribovskih letovišč. Zato so naši sodelavci te dni obiskali prenekateri delček Slovenije, v katerem sicer ni mogoče kopanje, jadranje, morsko sončenje ali razburljivi večeri v disko klubih, zato pa se ponašajo z obilico naravnih lepot, mirom, gostoljubnostjo, dobro hrano in nekateri celo s svojevrstnimi prireditvami, ki skupaj po pravilih privabijo največ novih gostov. \\nSavinjska dolina: turistični delavci so zadovoljni z letošnjo turistično sezono, panorama Ljubno ob Savinji, Logarska dolina, turisti, gams, rože, nageljni na balkonih, cesta skozi sotesko.\"],\"creator\":[\"Božič, Peter (novinar/journalist)\"],\"tags\":[\"ASPECT RATIO: 4:3\",\"Climbing\",\"CLIP\",\"Colour\",\"Lifestyle and consumerism\",\"News\",\"planinarjenje\",\"Stereo\",\"Tourism\",\"turizem\",\"turizem in gostinstvo\",\"VIDEO\"],\"places\":[\"Slovenia\"],\"times\":[\"19/08/1979\",\"1979\",\"1979-08-19\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0237D22BFD3BB7265C88A6C342DFB54D\",\"title\":[\"Clip title: Turizem na Pohorju/Tourism in the Pohorje Mountain\",\"TV JOURNAL I 19/08/1979\",\"SERIES TITLE: TV JOURNAL\"],\"description\":[\"Extended description:\\nPri nas na srečo ne poznamo tako množičnih dopustov kot v Italiji, tisto o vračanju pa bo že v prihodnjih dneh veljalo tudi za naše kraje. Ceste bodo prav kmalu spet dobesedno poplavljene s pločevino, le da zdaj v nasprotni smeri – proti severu. Med prvimi se bodo zaradi ohladitev in hladnega vremena, izpraznili kraji, ki jih od morja loči 150, 200 in več kilometrov. O teh pravzaprav med počitnicami nismo kaj prida govorili, pa vendar je bilo turistično življenje na primer na Pohorju, v zgornji Savinjski in Logarski dolini, v dolini reke Soče in še marsikje, skorajda prav tako razgibano kot ob morju ali z znanih hribovskih letovišč. Zato so naši sodelavci te dni obiskali prenekateri delček Slovenije, v katerem sicer ni mogoče kopanje, jadranje, morsko sončenje ali razburljivi večeri v disko klubih, zato pa se ponašajo z obilico naravnih lepot, mirom, gostoljubnostjo, dobro hrano in nekateri celo s svojevrstnimi prireditvami, ki skupaj po pravilih privabijo največ novih gostov. \\nPohorje: zadovoljni turisti na severovzhodnem Pohorju; izjavi Vladojka in Jože MLAKAR, turisti, zunanjost gostinskih lokalov, turisti, izjava Štefanija VINDER iz Avstralije, izjava Liljana JUTRIŠA iz Beograda, sprehod po gozdni poti, zunanjost hotel.\",\"Pohorje: Tourism in the Pohorje Mountain.\"],\"creator\":[\"Jauk, Franček (novinar/journalist)\"],\"tags\":[\"ASPECT RATIO: 4:3\",\"Climbing\",\"Clip\",\"Colour\",\"Lifestyle and consumerism\",\"News\",\"planinarjenje\",\"Stereo\",\"Tourism\",\"turizem\",\"turizem in gostinstvo\",\"VIDEO\"],\"places\":[\"Slovenia\"],\"times\":[\"19/08/1979\",\"1979\",\"1979-08-19\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0AA4E928E8D21DC730E6D38495C5E1FC\",\"title\":[\"Italijanski prevod romana Črni obroč\",\"Italian translation of the novel The Black Ring\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"14/07/2021\",\"2021\",\"2021-07-14\"]},{\"id\":\"2051930/data_euscreenXL_EUS_119580DCA7789489D1D39B12E5B21665\",\"title\":[\"36. Slovenski glasbeni dnevi\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"20/04/2022\",\"2022\",\"2022-04-20\"]},{\"id\":\"2051930/data_euscreenXL_EUS_02CDF69E238C7BBF3BA589007CFD3D00\",\"title\":[\"Galerija SLOART: Laibach Kunst – Apokalipsa\",\"Gallery SLOART: Laibach Kunst - Apocalypse\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"01/04/2022\",\"2022\",\"2022-04-01\"]},{\"id\":\"2051930/data_euscreenXL_EUS_03AC396D8EDA5E0AED1A746F511EAC05\",\"title\":[\"Pogovor z direktorjem Slovenske filharmonije Matejem Šarcem\"],\"description\":[\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"Osrednja mozaična oddaja Uredništva oddaj o kulturi. Osmi dan je kozmopolitska oddaja, v kateri najdejo prostor vse oblike klasičnega in sodobnega umetniškega ustvarjanja, humanizem, kulturna dediščina, fenomenološko in sociološko obravnavanje tem in kulturna politika.\\nOddajo vodi Polona Balantič.\",\"A central mosaic broadcast by the Editorial Board of Culture broadcasts. The eighth day is a cosmopolitan show in which all forms of classical and contemporary artistic creation, humanism, cultural heritage, phenomenological and sociological treatment of topics and cultural policy are found.\\nThe show is led by Polona Balantič.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2022\",\"2022-05-27\",\"27/05/2022\"]},{\"id\":\"2051930/data_euscreenXL_EUS_094A157020F65251D9C41B49CBF1C327\",\"title\":[\"Clip title: Martini pri Ajdovščini\",\"AROUND SLOVENIA 14/11/1995\",\"SERIES TITLE: AROUND SLOVENIA\"],\"description\":[\"Extended description:\\nBrje v Vipavski dolini: panorama vasi Martini pri Ajdovščini; 2023-12-05T15:53:51.394900549Z na hribu cerkev sv. Martina z lepim starim portalom, notranjost cerkve, oltarna slika sv. Martina, o kraju pripoveduje Franc MIHELJ, zvonik, simbol v kamnu - riba. Klet, sodi, pokušina mošta, fantje pojejo, točijo mošt, Zoran KODRIČ pripoveduje šaljivo zgodbo, Vinko FURLAN dela klobase, recept za pripravo, Livija FABJAN pripravlja štruklje, cisterne za vino v kleti, Oskar BIRSA reže pršut, Dragica BIRSA igra kitaro in poje, vinska trta, zahvalna pojedina za vse, ki so čez leto pomagali v vinogradu, izjavi Jože in Anica LIČEN, plešejo, pečena gos na krožniku.\",\"Our place: introducing the village Martini pri Ajdovščini and celebrating St. Martin’s Day.\"],\"creator\":[\"Dumančič, Mojca (novinarka/journalist)\",\"Maček, Mitja (slika/camera)\"],\"tags\":[\"ASPECT RATIO: 4:3\",\"Brje\",\"cerkve\",\"Clip\",\"Colour\",\"Ethnology\",\"etnologija\",\"Food\",\"Gastronomy\",\"hrana\",\"kulinarika\",\"ljudska praznovanja\",\"Martini\",\"martinovo\",\"National holidays, festivals, anniversaries and annual events\",\"News\",\"prebivalstvo - vsakdanje življenje\",\"Stereo\",\"VIDEO\",\"vinogradništvo\",\"Vipavska dolina\"],\"places\":[\"Slovenia\"],\"times\":[\"14/11/1995\",\"1995\",\"1995-11-14\"]},{\"id\":\"2051930/data_euscreenXL_EUS_087886022A6DEF9F6344EC9486A63191\",\"title\":[\"Roman Zrno od frmntona Marjana Tomšiča ponatisnjen\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"16/03/2021\",\"2021\",\"2021-03-16\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0F6947DF833F6C45823F6E24E27C5F91\",\"title\":[\"Ljubljana Street Art Festival\",\"Ljubljana Street Art festival\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"2021\",\"2021-06-29\",\"29/06/2021\"]},{\"id\":\"2051930/data_euscreenXL_EUS_12D479D0FF4803A244008F231E801056\",\"title\":[\"V Ljubljani je spet v središču moda\",\"In Ljubljana it is again at the heart of fashion\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"12/04/2022\",\"2022\",\"2022-04-12\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0CBC25694731265B1199C69FEEB48C45\",\"title\":[\"Avtorski projekt Kons: Novi dobi v PGK Kranj\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"Broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"Television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"01/06/2021\",\"2021\",\"2021-06-01\"]},{\"id\":\"2051930/data_euscreenXL_EUS_01646C32116CEFD02FC14009A0B5BE8B\",\"title\":[\"Film o Arethi Franklin Respect prihaja v naše kinematografe\",\"The film about Aretha Franklin Respect comes to our cinemas\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"08/10/2021\",\"2021\",\"2021-10-08\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0D649D53E3D1EAF740CD74CCC1CA67D9\",\"title\":[\"AROUND SLOVENIA 25/03/1999\",\"SERIES TITLE: AROUND SLOVENIA\",\"Clip title: Ljubno na Gorenjskem\"],\"description\":[\"Our place: living in the village of Ljubno na Gorenjskem.\",\"Extended description:\\nNaš kraj: Ljubno na Gorenjskem, panorama kraja, hiše, \\\"gorenjske jaslice\\\" vas na hribčku, cerkev, grozeča skalna gmota (8 do 9 tisoč ton), izjava Rok ŠTROS, Mitja MLADENOVIČ, predsednik GD Ljubno, izjave Marija JEGLIČ, Maks KALAN, predsednik KS, Urška CVENKELJ, Rezka CVENKELJ, problem pitne vode, dovoz vode z gasilnimi avtomobili, delo gasilcev, polnjenje zbiralnika za vodo, pokopališče, ograja, grobovi, mrliška vežica, makadamska cesta, hiše v bregu, domačini \\\"čepinarji\\\" (po nekdanjem izdelovanju lončene posode), gostišče, Iskra Otoče, obnova domačije CVENKELJ, obnova cerkve Marije Udarjene, 400 let stara hiša MOHORJEVIH s freskami, spominska tabla na Janez PUHAR, izumitelj fotografije.\"],\"creator\":[\"Golob, Tine (slika/camera)\",\"Koren, Janja (novinarka/journalist)\"],\"tags\":[\"Art of painting\",\"ASPECT RATIO: 4:3\",\"cerkve\",\"CLIP\",\"Colour\",\"etnologija - materialna kultura: obrt, gospodarstvo, stavbarstvo, noša, prehrana\",\"fotografija\",\"gasilstvo in požarna varnost\",\"gostinska podjetja\",\"History\",\"Lifestyle and consumerism\",\"News\",\"Photograph\",\"pokopališča\",\"slabe ceste\",\"slikarstvo\",\"spominske plošče\",\"Stereo\",\"VIDEO\",\"vodovod\",\"zgodovina\"],\"places\":[\"Slovenia\"],\"times\":[\"1999\",\"1999-03-25\",\"25/03/1999\"]},{\"id\":\"2051930/data_euscreenXL_EUS_0E5AEF918295B2C7AF18E71A2467A1DA\",\"title\":[\"Clip title: Mednarodna dirka v spidveju 1966/A speedway international tournament 1966\",\"TV REVIEW 06/06/1966\",\"SERIES TITLE: TV REVIEW\"],\"description\":[\"Extended description:\\nKrško: spidvej, mednarodna dirka, Franci BABIČ (št. 2), Per ERICSSON (Švedska) (št. 2), Istvan PASTOR (št. 16) Hans Jürgen FRITZ (NDR) (št. 7), zmagovalec Drago REGVARD, Franci BABIČ. \\nV Krškem so bile včeraj že 20 –te tradicionalne dirke v spidveju. Udeležilo se jih je 10 tisoč gledalcev, ki so uživali v drznih vožnjah tekmovalcev iz šestih držav. Tekmovalcev je bilo naklonjeno tudi lepo vreme, tako, da so dosegli zelo dobre rezultate. Poudariti pa je treba tudi odlične vožnje naših tekmovalec. Prvo mesto je zasedel Drago Regvart iz Zagreba, drugi pa je bil Hans Jurgens iz Nemške demokratične republike, tretji pa je bil domačin Babič iz Krškega.\",\"Krško: A speedway international tournament.\"],\"creator\":[],\"tags\":[\"ASPECT RATIO: 4:3\",\"Black & White\",\"Clip\",\"Lifestyle and consumerism\",\"motociklizem\",\"Mute\",\"News\",\"speedway\",\"VIDEO\"],\"places\":[\"Slovenia\"],\"times\":[\"06/06/1966\",\"1966\",\"1966-06-06\"]},{\"id\":\"2051930/data_euscreenXL_EUS_15F2399EDA9920FFA0104AF078DE2AD3\",\"title\":[\"Dogodki programa Poletje v Tivoliju\"],\"description\":[\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\",\"Kultura je kratka aktualna informativna oddaja o kulturi in umetnosti, v kateri se praviloma izpostavljajo osrednji dogodki dneva. V njej najdejo prostor tudi mednarodne novice in problemske teme. V ustvarjanje oddaje so vključeni dopisniki doma in v tujini. Kulturo urejajo in vodijo: Andreja Kočar, Nina Jerman, Melita Kontrec, Matevž Oven Brecelj in Teja Kunst.\"],\"creator\":[],\"tags\":[\"16:9\",\"broadcasting\",\"Colour\",\"Factual\",\"ITEM\",\"news\",\"Stereo\",\"television\",\"The media\"],\"places\":[\"Slovenia\"],\"times\":[\"14/07/2021\",\"2021\",\"2021-07-14\"]}],\"reduce\":1}";
-//            String response = executor.sendData(diacritics, 1);
+//            String response = executor.sendData(diacritics, 1, 60_000, 0);
 //            LOG.info("Response is {}", response);
 //
-//            String response2 = executor.sendData(PROCESS_TERMINATE_SIGNAL, 0);
+//            String response2 = executor.sendData(PROCESS_TERMINATE_SIGNAL, 0, 60_000, 0);
 //            LOG.info("Response2 is {}", response2);
 //        } catch (InterruptedException ie) {
 //            Thread.currentThread().interrupt();
@@ -0,0 +1,407 @@
+package eu.europeana.api.embedding.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps track of all executors and hands them out to requests. When there is a choice, executors that are expected to
+ * finish their outstanding work first (based on their measured processing time per record) are handed out first and
+ * of those the one that has been idle the longest (so each executor gets its turn).
+ * Each request priority has its own queue of requests waiting for an executor and optionally a number of executors
+ * reserved for it. Reserved executors that are idle for a while can be used by other priorities. While requests of a
+ * higher priority are waiting, requests of a lower priority can only use the executors reserved for them.
+ * Note that an executor can handle as many requests at the same time as its pipeline depth, so executors in use are
+ * counted in these 'slots'. Reservations however are for whole executors: an executor counts as reserved for a
+ * priority only while it is idle or handles requests of that priority only, so a request never has to wait in an
+ * executor's pipeline behind requests of another priority to use its reservation.
+ */
+public class ExecutorPool {
+
+    private static final Logger LOG = LogManager.getLogger(ExecutorPool.class);
+
+    private static final Comparator<Candidate> LEAST_WORK_FIRST = Comparator
+            .comparingDouble(Candidate::expectedWork)
+            .thenComparingLong(Candidate::lastUsed);
+
+    private static final long RECHECK_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final List<Executor> executors = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<RequestPriority, Lane> lanes = new EnumMap<>(RequestPriority.class);
+    private final long stealAfterMs;
+
+    /**
+     * Snapshot of the expected work of an available executor. Outstanding records and latency are updated by other
+     * threads all the time, so we can't read them while sorting.
+     */
+    private record Candidate(Executor executor, double expectedWork, long lastUsed) {
+
+        private Candidate(Executor executor) {
+            this(executor, (executor.getOutstandingRecords() + 1) * executor.getRecordLatency(),
+                    executor.getLastUsed());
+        }
+    }
+
+    /**
+     * Administration for a particular request priority
+     */
+    private final class Lane {
+        private final int reserved; // in executors
+        private final Deque<Object> queue = new ArrayDeque<>();
+        private final Condition changed = lock.newCondition();
+        private final Map<Executor, Integer> slotsInUse = new HashMap<>(); // per executor
+        private int inUse; // in slots
+        private long lastRequest;
+
+        private Lane(int reserved) {
+            this.reserved = reserved;
+        }
+
+        /**
+         * @return true if the executors reserved for this lane can't be used by other lanes now
+         */
+        private boolean isHoldingBack(long now) {
+            boolean idle = queue.isEmpty() && now - lastRequest >= stealAfterMs;
+            return reserved > 0 && !(stealAfterMs >= 0 && idle);
+        }
+
+        private void add(Executor executor) {
+            slotsInUse.merge(executor, 1, Integer::sum);
+            inUse++;
+        }
+
+        private void remove(Executor executor) {
+            slotsInUse.computeIfPresent(executor, (e, slots) -> slots > 1 ? slots - 1 : null);
+            inUse--;
+        }
+    }
+
+    /**
+     * Create a new executor pool
+     * @param reserved map containing the number of executors reserved per priority (missing priorities have none)
+     * @param stealAfterMs the number of milliseconds a priority has to be idle before its reserved executors can be
+     *                     used by others, a negative number means reserved executors are never used by others
+     */
+    public ExecutorPool(Map<RequestPriority, Integer> reserved, long stealAfterMs) {
+        this.stealAfterMs = stealAfterMs;
+        for (RequestPriority priority : RequestPriority.values()) {
+            lanes.put(priority, new Lane(reserved.getOrDefault(priority, 0)));
+        }
+    }
+
+    /**
+     * Add a new executor to the pool
+     * @param executor the executor to add
+     */
+    public void add(Executor executor) {
+        lock.lock();
+        try {
+            executors.add(executor);
+            signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve one or more executors, waiting for at most the provided time if none are available. If fewer executors
+     * are available than requested, only the available ones are returned.
+     * @param priority the priority of the request
+     * @param max the maximum number of executors to reserve
+     * @param maxWaitMs maximum time to wait for an executor in milliseconds
+     * @return list of reserved executors, empty list if no executor became available in time
+     */
+    public List<Executor> acquire(RequestPriority priority, int max, long maxWaitMs) {
+        Lane lane = lanes.get(priority);
+        Object ticket = new Object();
+        lock.lock();
+        try {
+            lane.queue.add(ticket);
+            lane.lastRequest = System.currentTimeMillis();
+            long deadlineNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            while (true) {
+                if (lane.queue.peek() == ticket) {
+                    // waiting requests of a higher priority only block the executors that aren't reserved for us
+                    List<Executor> result = reserve(priority, max, isPrecededByOtherLane(priority));
+                    if (!result.isEmpty()) {
+                        return result;
+                    }
+                }
+                long remainingNs = deadlineNs - System.nanoTime();
+                if (remainingNs <= 0) {
+                    LOG.debug("No executor available for {} request within {} ms", priority, maxWaitMs);
+                    return Collections.emptyList();
+                }
+                // we recheck regularly because reserved executors of other lanes may become available over time
+                lane.changed.awaitNanos(Math.min(remainingNs, RECHECK_INTERVAL_NS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } finally {
+            lane.queue.remove(ticket);
+            signalAll(); // the next request in the queue may be able to continue now
+            lock.unlock();
+        }
+    }
+
+    private boolean isPrecededByOtherLane(RequestPriority priority) {
+        for (Map.Entry<RequestPriority, Lane> entry : lanes.entrySet()) {
+            if (entry.getKey().compareTo(priority) < 0 && !entry.getValue().queue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the priority of the requests the executor is handling, null if it's idle or handles requests of more than
+     * one priority
+     */
+    private RequestPriority getOwner(Executor executor) {
+        RequestPriority result = null;
+        for (Map.Entry<RequestPriority, Lane> entry : lanes.entrySet()) {
+            if (entry.getValue().slotsInUse.containsKey(executor)) {
+                if (result != null) {
+                    return null;
+                }
+                result = entry.getKey();
+            }
+        }
+        return result;
+    }
+
+    private boolean isIdle(Executor executor) {
+        for (Lane lane : lanes.values()) {
+            if (lane.slotsInUse.containsKey(executor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reserve one slot on each of at most max executors
+     * @param reservedOnly if true, only use executors that are reserved for this priority
+     */
+    private List<Executor> reserve(RequestPriority priority, int max, boolean reservedOnly) {
+        Lane lane = lanes.get(priority);
+        Map<RequestPriority, Integer> owned = new EnumMap<>(RequestPriority.class);
+        for (Executor executor : executors) {
+            RequestPriority owner = getOwner(executor);
+            if (owner != null) {
+                owned.merge(owner, 1, Integer::sum);
+            }
+        }
+        List<Candidate> available = new ArrayList<>(executors.size());
+        int idleAvailable = 0;
+        for (Executor executor : executors) {
+            if (executor.hasCapacity()) {
+                available.add(new Candidate(executor));
+                if (isIdle(executor)) {
+                    idleAvailable++;
+                }
+            }
+        }
+
+        // other lanes that hold back their reservation keep the executors they own (as far as they are reserved) and
+        // as many idle executors as they need to make up the rest
+        long now = System.currentTimeMillis();
+        Map<RequestPriority, Integer> ownedSpare = new EnumMap<>(RequestPriority.class);
+        int idleHeldBack = 0;
+        for (Map.Entry<RequestPriority, Lane> entry : lanes.entrySet()) {
+            Lane other = entry.getValue();
+            if (entry.getKey() != priority && other.isHoldingBack(now)) {
+                int nrOwned = owned.getOrDefault(entry.getKey(), 0);
+                idleHeldBack += Math.max(0, other.reserved - nrOwned);
+                ownedSpare.put(entry.getKey(), Math.max(0, nrOwned - other.reserved));
+            }
+        }
+        int idleAllowed = idleAvailable - idleHeldBack;
+        int nrOwned = owned.getOrDefault(priority, 0);
+        if (reservedOnly) {
+            idleAllowed = Math.min(idleAllowed, lane.reserved - nrOwned);
+        }
+
+        available.sort(LEAST_WORK_FIRST);
+        List<Executor> result = new ArrayList<>(Math.min(max, available.size()));
+        for (Candidate candidate : available) {
+            if (result.size() >= max) {
+                break;
+            }
+            Executor executor = candidate.executor();
+            RequestPriority owner = getOwner(executor);
+            if (isIdle(executor)) {
+                if (idleAllowed <= 0) {
+                    continue;
+                }
+                idleAllowed--;
+            } else if (owner == priority) {
+                if (reservedOnly && nrOwned > lane.reserved) {
+                    continue;
+                }
+            } else if (reservedOnly) {
+                continue;
+            } else if (owner != null && ownedSpare.containsKey(owner)) {
+                // using it would take it away from the reservation of its owner
+                if (ownedSpare.get(owner) <= 0) {
+                    continue;
+                }
+                ownedSpare.merge(owner, -1, Integer::sum);
+            }
+            executor.reserve();
+            result.add(executor);
+        }
+        result.forEach(lane::add);
+        LOG.trace("Reserved {} of {} available executors for {} request", result.size(), available.size(), priority);
+        return result;
+    }
+
+    /**
+     * Return a previously reserved executor to the pool. If the executor is retiring and it's not busy with other
+     * requests anymore, it is removed from the pool.
+     * @param executor the executor to release
+     * @param priority the priority for which the executor was reserved
+     * @return true if the executor was removed from the pool
+     */
+    public boolean release(Executor executor, RequestPriority priority) {
+        lock.lock();
+        try {
+            executor.unreserve();
+            lanes.get(priority).remove(executor);
+            signalAll();
+            if (executor.isRetiring() && !executor.isBusy()) {
+                executors.remove(executor);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove an executor from the pool if it's not busy
+     * @param executor the executor to remove
+     * @return true if the executor was removed, false if it's busy
+     */
+    public boolean removeIfIdle(Executor executor) {
+        lock.lock();
+        try {
+            if (executor.isBusy()) {
+                return false;
+            }
+            return executors.remove(executor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a previously reserved executor from the pool, for example because it stopped working
+     * @param executor the executor to remove
+     * @param priority the priority for which the executor was reserved
+     */
+    public void remove(Executor executor, RequestPriority priority) {
+        lock.lock();
+        try {
+            executor.unreserve();
+            lanes.get(priority).remove(executor);
+            executors.remove(executor);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalAll() {
+        for (Lane lane : lanes.values()) {
+            lane.changed.signalAll();
+        }
+    }
+
+    /**
+     * @param priority the priority to check
+     * @return the number of requests of the provided priority waiting for an executor
+     */
+    public int getQueueSize(RequestPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param priority the priority to check
+     * @return the number of executor slots in use by requests of the provided priority
+     */
+    public int getInUse(RequestPriority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the fraction of executors that is handling at least one request
+     */
+    public double getBusyRatio() {
+        lock.lock();
+        try {
+            if (executors.isEmpty()) {
+                return 1;
+            }
+            return executors.stream().filter(Executor::isBusy).count() / (double) executors.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a copy of the list of all executors in the pool
+     */
+    public List<Executor> getExecutors() {
+        lock.lock();
+        try {
+            return new ArrayList<>(executors);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the total number of executors in the pool
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return executors.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all executors from the pool
+     * @return list of removed executors
+     */
+    public List<Executor> removeAll() {
+        lock.lock();
+        try {
+            List<Executor> result = new ArrayList<>(executors);
+            executors.clear();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
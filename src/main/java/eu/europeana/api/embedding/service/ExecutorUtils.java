@@ -1,9 +1,13 @@
 package eu.europeana.api.embedding.service;
 
+import eu.europeana.api.embedding.exception.ExecutorException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.zeroturnaround.exec.ProcessExecutor;
+import org.zeroturnaround.exec.StartedProcess;
+import org.zeroturnaround.exec.stream.slf4j.Slf4jStream;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.TimeoutException;
 
@@ -39,4 +43,39 @@ public final class ExecutorUtils {
         LOG.debug("Command {} result = {}", commands, result);
         return result;
     }
+
+    /**
+     * Start a (Python) process in the background. Error output of the process is logged, normal output only when
+     * debug logging is enabled.
+     * @param directory the folder in which to start the process
+     * @param threads the number of threads the process may use for computations, 0 means no limit
+     * @param commands command with extra parameters
+     * @return the started process
+     * @throws ExecutorException when the process could not be started
+     */
+    public static StartedProcess startProcess(String directory, int threads, String... commands)
+            throws ExecutorException {
+        LOG.debug("Starting new embedding process in folder {}...", new File(".").getAbsolutePath());
+        try {
+            ProcessExecutor pe = new ProcessExecutor()
+                    .directory(new File(directory))
+                    .command(commands)
+                    .redirectError(Slf4jStream.of("Python").asError())
+                    .exitValue(0);
+            if (threads > 0) {
+                // numpy and torch read these when they are loaded, so we can't set them from within Python
+                pe.environment("OMP_NUM_THREADS", String.valueOf(threads))
+                        .environment("MKL_NUM_THREADS", String.valueOf(threads))
+                        .environment("OPENBLAS_NUM_THREADS", String.valueOf(threads));
+            }
+            if (LOG.isDebugEnabled()) {
+                // In Python we need to explicitely flush logs which we only do every once in a while,
+                // so timestamps are often inaccurate
+                pe.redirectOutput(Slf4jStream.of("Python").asDebug());
+            }
+            return pe.start();
+        } catch (IOException e) {
+            throw new ExecutorException("Error creating process", e, true);
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package eu.europeana.api.embedding.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import eu.europeana.api.embedding.exception.ExecutorException;
+import eu.europeana.api.embedding.exception.InvalidRequestException;
+import eu.europeana.api.recommend.common.model.EmbeddingRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates vectors only for records that changed since they were last embedded. Clients send each record together
+ * with the fingerprint they received the previous time. Records for which the fingerprint of the embedding text (see
+ * RecordFingerprint) is the same are reported as unchanged without sending them to an executor.
+ */
+@Service
+public class IncrementalEmbeddingService {
+
+    /** Name of the record field with the fingerprint that the client received previously */
+    public static final String FIELD_FINGERPRINT = "fingerprint";
+
+    /** Status of a record that was embedded */
+    public static final String STATUS_EMBEDDED = "embedded";
+    /** Status of a record with the same fingerprint as before */
+    public static final String STATUS_UNCHANGED = "unchanged";
+
+    private static final Logger LOG = LogManager.getLogger(IncrementalEmbeddingService.class);
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_EMBEDDING = "embedding";
+
+    private final EmbeddingsService embeddingsService;
+    private final SimilarityService similarityService;
+    private final EmbeddingSettings settings;
+    private final ObjectMapper mapper;
+    private final Counter embeddedCounter;
+    private final Counter unchangedCounter;
+
+    /**
+     * Initialize a new incremental embedding service
+     * @param embeddingsService service for generating vectors
+     * @param similarityService service that optionally indexes the generated vectors
+     * @param settings application settings
+     * @param meterRegistry registry for metrics
+     */
+    public IncrementalEmbeddingService(EmbeddingsService embeddingsService, SimilarityService similarityService,
+                                       EmbeddingSettings settings, MeterRegistry meterRegistry) {
+        this.embeddingsService = embeddingsService;
+        this.similarityService = similarityService;
+        this.settings = settings;
+        this.mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.embeddedCounter = Counter.builder("embedding.incremental.records").tag(FIELD_STATUS, STATUS_EMBEDDED)
+                .description("Number of records in incremental requests that were embedded")
+                .register(meterRegistry);
+        this.unchangedCounter = Counter.builder("embedding.incremental.records").tag(FIELD_STATUS, STATUS_UNCHANGED)
+                .description("Number of records in incremental requests that were unchanged and not embedded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Generate vectors for the records that changed, using the default request timeout
+     * @param records the records, each optionally with the fingerprint that was returned the previous time
+     * @param priority the priority of the request
+     * @return json array with for each record (in the same order) an object with its 'id', 'status', 'fingerprint'
+     * and for changed records the 'embedding'
+     * @throws EuropeanaApiException if a record is invalid or there's a problem generating the vectors
+     */
+    public ArrayNode generateEmbeddings(List<ObjectNode> records, RequestPriority priority)
+            throws EuropeanaApiException {
+        return generateEmbeddings(records, priority, settings.getExecutorRequestTimeout());
+    }
+
+    /**
+     * Generate vectors for the records that changed
+     * @param records the records, each optionally with the fingerprint that was returned the previous time
+     * @param priority the priority of the request
+     * @param timeoutMs maximum time in milliseconds for processing the request
+     * @return json array with for each record (in the same order) an object with its 'id', 'status', 'fingerprint'
+     * and for changed records the 'embedding'
+     * @throws EuropeanaApiException if a record is invalid or there's a problem generating the vectors
+     */
+    public ArrayNode generateEmbeddings(List<ObjectNode> records, RequestPriority priority, long timeoutMs)
+            throws EuropeanaApiException {
+        ArrayNode result = mapper.createArrayNode();
+        List<EmbeddingRecord> changed = new ArrayList<>();
+        List<ObjectNode> changedResults = new ArrayList<>();
+        for (ObjectNode input : records) {
+            String previousFingerprint = input.path(FIELD_FINGERPRINT).asText(null);
+            EmbeddingRecord embeddingRecord = toEmbeddingRecord(input);
+            // fingerprint what the executor would receive, so fields that aren't sent don't count
+            JsonNode sent = mapper.valueToTree(embeddingRecord);
+            String fingerprint = RecordFingerprint.fingerprint(sent);
+
+            ObjectNode item = result.addObject();
+            item.put(FIELD_ID, sent.path(FIELD_ID).asText());
+            item.put(FIELD_FINGERPRINT, fingerprint);
+            if (fingerprint.equals(previousFingerprint)) {
+                item.put(FIELD_STATUS, STATUS_UNCHANGED);
+            } else {
+                item.put(FIELD_STATUS, STATUS_EMBEDDED);
+                changed.add(embeddingRecord);
+                changedResults.add(item);
+            }
+        }
+        unchangedCounter.increment((double) records.size() - changed.size());
+        LOG.debug("{} of {} records changed", changed.size(), records.size());
+        if (changed.isEmpty()) {
+            return result;
+        }
+
+        JsonNode vectors = embeddingsService.generateVectors(changed.toArray(new EmbeddingRecord[0]), priority,
+                timeoutMs);
+        if (vectors == null || vectors.size() != changed.size()) {
+            throw new ExecutorException("Expected " + changed.size() + " vectors, but got "
+                    + (vectors == null ? 0 : vectors.size()), false);
+        }
+        similarityService.addAll(vectors);
+        // vectors are returned in the same order as the records
+        for (int i = 0; i < changed.size(); i++) {
+            changedResults.get(i).set(FIELD_EMBEDDING, vectors.get(i).get(FIELD_EMBEDDING));
+        }
+        embeddedCounter.increment(changed.size());
+        return result;
+    }
+
+    private EmbeddingRecord toEmbeddingRecord(ObjectNode input) throws InvalidRequestException {
+        if (!input.hasNonNull(FIELD_ID)) {
+            throw new InvalidRequestException("Record without id");
+        }
+        ObjectNode embeddingRecord = input.deepCopy();
+        embeddingRecord.remove(FIELD_FINGERPRINT);
+        try {
+            return mapper.treeToValue(embeddingRecord, EmbeddingRecord.class);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new InvalidRequestException("Invalid record " + input.get(FIELD_ID).asText() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package eu.europeana.api.embedding.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Computes the text that the Python executors generate a vector for, and a fingerprint of that text. This is a port of
+ * the transform_record function in europeana_embeddings_cmd.py, so only the fields that are used for the embedding
+ * (in the preferred language) influence the fingerprint. If two versions of a record have the same fingerprint, they
+ * have the same vector.
+ * Note that when the Python transformation, FIELD_MAP or the models change, this class should be updated as well and
+ * FINGERPRINT_VERSION should be increased, so all records are embedded again.
+ */
+public final class RecordFingerprint {
+
+    /** Increase this when previously returned fingerprints are no longer valid (e.g. after a model update) */
+    public static final String FINGERPRINT_VERSION = "1";
+
+    // maps record fields to the groups that are used for the text, same as FIELD_MAP in europeana_embeddings_cmd.py
+    private static final Map<String, String> FIELD_MAP = new LinkedHashMap<>();
+    static {
+        FIELD_MAP.put("country", "places");
+        FIELD_MAP.put("edmPlaceLabel", "places");
+        FIELD_MAP.put("edmPlaceLabelLangAware", "places");
+        FIELD_MAP.put("dcCreator", "creator");
+        FIELD_MAP.put("description", "description");
+        FIELD_MAP.put("dcDescriptionLangAware", "description");
+        FIELD_MAP.put("title", "title");
+        FIELD_MAP.put("dcTitleLangAware", "title");
+        FIELD_MAP.put("edmConceptPrefLabelLangAware", "tags");
+    }
+    private static final Set<String> GROUPS = new TreeSet<>(FIELD_MAP.values());
+    private static final String GROUP_DESCRIPTION = "description";
+    private static final int MAX_DESCRIPTION_LENGTH = 300;
+
+    // for multilingual fields, the priority order of languages to use
+    private static final List<String> LANGUAGES_BY_PRIORITY = List.of("en", "de", "fr", "es", "def");
+
+    private static final String SEPARATOR = ", ";
+    private static final String LANGUAGE_SEPARATOR = ",  "; // the Python code uses two spaces here
+
+    private RecordFingerprint() {
+        // empty constructor to prevent initialization
+    }
+
+    /**
+     * Calculate the fingerprint of a record
+     * @param embeddingRecord the record (json)
+     * @return hex-encoded SHA-256 hash of the text that is used for the embedding
+     */
+    public static String fingerprint(JsonNode embeddingRecord) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((FINGERPRINT_VERSION + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(toText(embeddingRecord).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    /**
+     * Generate the text of a record that is used for the embedding (same as transform_record in Python)
+     * @param embeddingRecord the record (json)
+     * @return the text
+     */
+    public static String toText(JsonNode embeddingRecord) {
+        Map<String, List<String>> groups = new HashMap<>();
+        for (String group : GROUPS) {
+            groups.put(group, new ArrayList<>());
+        }
+        for (Map.Entry<String, String> field : FIELD_MAP.entrySet()) {
+            JsonNode value = embeddingRecord.get(field.getKey());
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            List<String> values = groups.get(field.getValue());
+            if (value.isTextual()) {
+                values.add(value.asText());
+            } else if (value.isArray() && !value.isEmpty() && value.get(0).isTextual()) {
+                value.forEach(item -> values.add(item.asText()));
+            } else {
+                String best = getValueWithBestLanguage(value);
+                if (best != null) {
+                    values.add(best);
+                }
+            }
+        }
+
+        List<String> texts = new ArrayList<>();
+        for (String group : GROUPS) {
+            String text = String.join(SEPARATOR, groups.get(group));
+            if (GROUP_DESCRIPTION.equals(group) && text.codePointCount(0, text.length()) > MAX_DESCRIPTION_LENGTH) {
+                text = text.substring(0, text.offsetByCodePoints(0, MAX_DESCRIPTION_LENGTH));
+            }
+            texts.add(text);
+        }
+        return String.join(SEPARATOR, cleanTextList(texts));
+    }
+
+    /**
+     * For a multilingual field (a language:values object or a list of language:value objects) return the value in the
+     * language with the highest priority
+     * @return the value, or null if the field has an unsupported structure (the Python code skips or fails on those)
+     */
+    private static String getValueWithBestLanguage(JsonNode value) {
+        if (value.isObject()) {
+            for (String language : LANGUAGES_BY_PRIORITY) {
+                if (value.has(language)) {
+                    return join(value.get(language), LANGUAGE_SEPARATOR);
+                }
+            }
+            Iterator<JsonNode> first = value.elements();
+            return first.hasNext() ? join(first.next(), SEPARATOR) : null;
+        }
+        if (value.isArray()) {
+            List<String> languages = new ArrayList<>();
+            for (JsonNode item : value) {
+                if (!item.isObject() || item.isEmpty()) {
+                    return null;
+                }
+                languages.add(item.fieldNames().next());
+            }
+            for (String language : LANGUAGES_BY_PRIORITY) {
+                int index = languages.indexOf(language);
+                if (index >= 0) {
+                    JsonNode best = value.get(index).elements().next();
+                    return best.isTextual() ? best.asText() : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String join(JsonNode values, String separator) {
+        List<String> result = new ArrayList<>();
+        if (values.isArray()) {
+            values.forEach(item -> result.add(item.asText()));
+        } else {
+            // joining a single string in Python joins its characters
+            values.asText().codePoints().forEach(codePoint -> result.add(Character.toString(codePoint)));
+        }
+        return String.join(separator, result);
+    }
+
+    /**
+     * Split all texts into separate values, remove empty values and duplicates (same as clean_textlist in Python)
+     */
+    private static List<String> cleanTextList(List<String> texts) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String value : String.join(SEPARATOR, texts).split(SEPARATOR, -1)) {
+            String stripped = value.strip();
+            if (!stripped.isEmpty()) {
+                result.add(stripped);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+}
@@ -0,0 +1,79 @@
+package eu.europeana.api.embedding.service;
+
+import eu.europeana.api.embedding.exception.ShuttingDownException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the number of requests being processed, so that when shutting down we can refuse new requests and
+ * wait until the ones that were already admitted are finished
+ */
+final class RequestDrain {
+
+    private static final long CHECK_INTERVAL = 100; // milliseconds
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean draining;
+
+    /**
+     * Register a new request. Every successful call must be followed by a call to exit() when the request is done.
+     * @throws ShuttingDownException when we are draining and don't accept new requests
+     */
+    void enter() throws ShuttingDownException {
+        // we count the request before checking the drain flag, so awaitIdle() always waits for requests we admit
+        inFlight.incrementAndGet();
+        if (draining) {
+            inFlight.decrementAndGet();
+            throw new ShuttingDownException();
+        }
+    }
+
+    /**
+     * Register that a request is done
+     */
+    void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Stop accepting new requests
+     */
+    void start() {
+        draining = true;
+    }
+
+    /**
+     * @return true if we don't accept new requests
+     */
+    boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * @return the number of requests that are being processed
+     */
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Wait until all requests that are being processed are finished
+     * @param timeoutMs maximum time to wait in milliseconds
+     * @return true if all requests finished, false if some were still being processed after the timeout
+     */
+    boolean awaitIdle(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (inFlight.get() > 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(CHECK_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
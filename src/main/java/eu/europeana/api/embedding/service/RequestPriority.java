@@ -0,0 +1,33 @@
+package eu.europeana.api.embedding.service;
+
+import java.util.Locale;
+
+/**
+ * Priority classes for embedding requests. Each class has its own queue for waiting on executors and can have a
+ * number of executors reserved for it. The order of the values is important: classes listed first have precedence
+ * when executors become available.
+ */
+public enum RequestPriority {
+
+    /** Small requests for which a client is waiting (e.g. recommendations) */
+    INTERACTIVE,
+    /** Large (re-)embedding jobs that are not time-critical */
+    BULK;
+
+    /**
+     * Get the request priority from a header value
+     * @param value the value to parse (case-insensitive), if null or empty the default INTERACTIVE is returned
+     * @return RequestPriority, or null if the value is not a known priority
+     */
+    public static RequestPriority fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return INTERACTIVE;
+        }
+        for (RequestPriority priority : values()) {
+            if (priority.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                return priority;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package eu.europeana.api.embedding.service;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helper class for splitting large requests into parts that are processed by different executors and for merging
+ * the outputs of those parts again
+ */
+final class RequestSplitter {
+
+    private static final String FIELD_DATA = "data";
+
+    private RequestSplitter() {
+        // empty constructor to prevent initialization
+    }
+
+    /**
+     * Calculate in how many parts we want to split a request (if enough executors are free)
+     * @param nrRecords the number of records in the request
+     * @param minRecords the minimum number of records in each part
+     * @param nrExecutors the total number of executors
+     * @return the number of parts, at least 1
+     */
+    static int getNrOfParts(int nrRecords, int minRecords, int nrExecutors) {
+        return Math.max(1, Math.min(nrRecords / Math.max(1, minRecords), nrExecutors));
+    }
+
+    /**
+     * Split the records in consecutive parts of (almost) equal size
+     * @param records the records to split
+     * @param nrParts the number of parts
+     * @return list of parts, in the original order
+     */
+    static <T> List<T[]> split(T[] records, int nrParts) {
+        List<T[]> result = new ArrayList<>(nrParts);
+        int from = 0;
+        for (int i = 0; i < nrParts; i++) {
+            int to = from + (records.length - from) / (nrParts - i);
+            result.add(Arrays.copyOfRange(records, from, to));
+            from = to;
+        }
+        return result;
+    }
+
+    /**
+     * Append the data of the second executor output to the first one
+     * @param first output of the first part (modified), may be null
+     * @param second output of the part that comes after the first one
+     * @return merged output
+     */
+    static ObjectNode merge(ObjectNode first, ObjectNode second) {
+        if (first == null) {
+            return second;
+        }
+        if (first.get(FIELD_DATA) instanceof ArrayNode firstData && second.get(FIELD_DATA) instanceof ArrayNode secondData) {
+            firstData.addAll(secondData);
+        }
+        return first;
+    }
+}
@@ -0,0 +1,201 @@
+package eu.europeana.api.embedding.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import eu.europeana.api.embedding.exception.ConfigurationException;
+import eu.europeana.api.embedding.exception.IndexNotEnabledException;
+import eu.europeana.api.embedding.exception.RecordNotIndexedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Optionally keeps the vectors we generate in an in-memory index, so we can find records that are similar to a
+ * particular record ("more like this"). The index can be filled at startup from a vector file.
+ */
+@Service
+public class SimilarityService {
+
+    /** Number of dimensions of the vectors we generate */
+    public static final int VECTOR_DIMENSION = 300;
+
+    private static final Logger LOG = LogManager.getLogger(SimilarityService.class);
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_EMBEDDING = "embedding";
+
+    private final EmbeddingSettings settings;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private VectorIndex index;
+    private boolean fullWarningLogged;
+
+    /**
+     * Initialize a new similarity service
+     * @param settings application settings
+     * @param meterRegistry registry for metrics
+     */
+    public SimilarityService(EmbeddingSettings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        if (settings.isIndexEnabled()) {
+            this.index = new VectorIndex(VECTOR_DIMENSION, settings.getIndexMaxSize());
+            Gauge.builder("embedding.index.size", index, VectorIndex::size)
+                    .description("Number of vectors in the similarity index")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Load the vector file (if configured) into the index
+     * @throws EuropeanaApiException when the vector file can't be read
+     */
+    @PostConstruct
+    public void loadVectorFile() throws EuropeanaApiException {
+        if (index == null || StringUtils.isBlank(settings.getIndexVectorFile())) {
+            return;
+        }
+        Path file = Path.of(settings.getIndexVectorFile());
+        long start = System.currentTimeMillis();
+        try {
+            int loaded = load(file);
+            LOG.info("Loaded {} vectors from {} in {} ms", loaded, file, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new ConfigurationException("Error reading vector file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Add all vectors from a file to the index. The file should contain one json object per line with an 'id' and
+     * 'embedding' field (the same as the data in an embeddings response) and can be gzipped.
+     * @param file the file to load
+     * @return the number of vectors that were added
+     * @throws IOException when the file can't be read
+     */
+    public int load(Path file) throws IOException {
+        int result = 0;
+        try (InputStream in = file.toString().endsWith(".gz")
+                ? new GZIPInputStream(Files.newInputStream(file))
+                : Files.newInputStream(file);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && add(mapper.readTree(line))) {
+                    result++;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the similarity index is enabled
+     */
+    public boolean isEnabled() {
+        return index != null;
+    }
+
+    /**
+     * Add the vectors of an embeddings response to the index (if enabled)
+     * @param data the data array of an embeddings response, containing objects with an 'id' and 'embedding' field
+     */
+    public void addAll(JsonNode data) {
+        if (index == null || data == null) {
+            return;
+        }
+        for (JsonNode item : data) {
+            add(item);
+        }
+    }
+
+    private boolean add(JsonNode item) {
+        String id = item.path(FIELD_ID).asText(null);
+        float[] vector = toVector(item.get(FIELD_EMBEDDING));
+        if (id == null || vector == null) {
+            LOG.debug("Not indexing item without id or embedding");
+            return false;
+        }
+        try {
+            if (index.put(id, vector)) {
+                return true;
+            }
+            if (!fullWarningLogged) {
+                LOG.warn("Similarity index is full ({} vectors), new vectors are not indexed", index.size());
+                fullWarningLogged = true;
+            }
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Not indexing record {}: {}", id, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Convert a json array of numbers to a vector
+     * @param embedding json array
+     * @return vector, or null if the provided node is not an array
+     */
+    public static float[] toVector(JsonNode embedding) {
+        if (embedding == null || !embedding.isArray()) {
+            return null;
+        }
+        float[] result = new float[embedding.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (float) embedding.get(i).asDouble();
+        }
+        return result;
+    }
+
+    /**
+     * Find the records that are most similar to a record in the index
+     * @param id the id of the record
+     * @param k the maximum number of results
+     * @return list of similar records, most similar first (the record itself is not included)
+     * @throws EuropeanaApiException when the index is not enabled or the record is not in the index
+     */
+    public List<VectorIndex.Match> findSimilar(String id, int k) throws EuropeanaApiException {
+        checkEnabled();
+        float[] vector = index.get(id);
+        if (vector == null) {
+            throw new RecordNotIndexedException(id);
+        }
+        return index.search(vector, k, id);
+    }
+
+    /**
+     * Find the records that are most similar to the provided vector
+     * @param id the id of the record the vector belongs to, this record is excluded from the results (can be null)
+     * @param vector the query vector
+     * @param k the maximum number of results
+     * @return list of similar records, most similar first
+     * @throws EuropeanaApiException when the index is not enabled
+     */
+    public List<VectorIndex.Match> findSimilar(String id, float[] vector, int k) throws EuropeanaApiException {
+        checkEnabled();
+        return index.search(vector, k, id);
+    }
+
+    /**
+     * @throws IndexNotEnabledException when the index is not enabled
+     */
+    public void checkEnabled() throws IndexNotEnabledException {
+        if (index == null) {
+            throw new IndexNotEnabledException();
+        }
+    }
+
+}
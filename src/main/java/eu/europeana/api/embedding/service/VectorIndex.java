@@ -0,0 +1,231 @@
+package eu.europeana.api.embedding.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory index of vectors by record id that can find the most similar vectors (cosine similarity) for a query.
+ * Vectors are normalized to unit length when they are added and stored one after the other in a single float array,
+ * so a query is an exact brute-force scan of dot products over contiguous memory. Large indexes are scanned in
+ * parallel chunks.
+ */
+public class VectorIndex {
+
+    // indexes with at least this many vectors are scanned in parallel
+    private static final int PARALLEL_THRESHOLD = 50_000;
+    private static final int PARALLEL_CHUNK_SIZE = 25_000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int dimension;
+    private final int maxSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    private float[] vectors;
+    private String[] ids;
+    private int size;
+
+    /**
+     * Result of a similarity search
+     * @param id record id
+     * @param score cosine similarity with the query vector (1 is identical)
+     */
+    public record Match(String id, float score) {
+    }
+
+    /**
+     * Create a new empty index
+     * @param dimension the number of dimensions of all vectors in the index
+     * @param maxSize the maximum number of vectors in the index
+     */
+    public VectorIndex(int dimension, int maxSize) {
+        this.dimension = dimension;
+        this.maxSize = maxSize;
+        int capacity = Math.min(INITIAL_CAPACITY, maxSize);
+        this.vectors = new float[capacity * dimension];
+        this.ids = new String[capacity];
+    }
+
+    /**
+     * Add a vector to the index, or replace it if there already is a vector for the provided id
+     * @param id the record id
+     * @param vector the vector, should have the same dimension as the index
+     * @return false if the vector wasn't added because the index is full, otherwise true
+     * @throws IllegalArgumentException if the vector has the wrong dimension or is a zero vector
+     */
+    public boolean put(String id, float[] vector) {
+        float[] normalized = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                if (size >= maxSize) {
+                    return false;
+                }
+                ensureCapacity(size + 1);
+                slot = size++;
+                slots.put(id, slot);
+                ids[slot] = id;
+            }
+            System.arraycopy(normalized, 0, vectors, slot * dimension, dimension);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newCapacity = (int) Math.min(maxSize, Math.max(capacity, 2L * ids.length));
+            ids = Arrays.copyOf(ids, newCapacity);
+            vectors = Arrays.copyOf(vectors, newCapacity * dimension);
+        }
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected vector with " + dimension + " dimensions, but got "
+                    + vector.length);
+        }
+        double norm = Math.sqrt(dot(vector, 0, vector));
+        if (norm == 0) {
+            throw new IllegalArgumentException("Can't index a zero vector");
+        }
+        float[] result = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            result[i] = (float) (vector[i] / norm);
+        }
+        return result;
+    }
+
+    /**
+     * @param id the record id
+     * @return copy of the (normalized) vector of the record, null if the record is not in the index
+     */
+    public float[] get(String id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                return null;
+            }
+            return Arrays.copyOfRange(vectors, slot * dimension, (slot + 1) * dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the vectors that are most similar to the query vector
+     * @param query the query vector (doesn't need to be normalized)
+     * @param k the maximum number of results
+     * @param excludeId optional, id of a record that should not be included in the results (e.g. the query record)
+     * @return list of at most k matches, most similar first
+     */
+    public List<Match> search(float[] query, int k, String excludeId) {
+        float[] normalized = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || size == 0) {
+                return Collections.emptyList();
+            }
+            PriorityQueue<Match> best;
+            if (size < PARALLEL_THRESHOLD) {
+                best = searchRange(normalized, k, excludeId, 0, size);
+            } else {
+                int nrChunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+                best = IntStream.range(0, nrChunks).parallel()
+                        .mapToObj(chunk -> searchRange(normalized, k, excludeId, chunk * PARALLEL_CHUNK_SIZE,
+                                Math.min(size, (chunk + 1) * PARALLEL_CHUNK_SIZE)))
+                        .reduce((first, second) -> {
+                            for (Match match : second) {
+                                offer(first, match, k);
+                            }
+                            return first;
+                        })
+                        .orElseGet(PriorityQueue::new);
+            }
+            List<Match> result = new ArrayList<>(best);
+            result.sort((first, second) -> Float.compare(second.score(), first.score()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scan part of the index and keep the k best matches in a min-heap (worst match on top)
+     */
+    private PriorityQueue<Match> searchRange(float[] query, int k, String excludeId, int from, int to) {
+        PriorityQueue<Match> best = new PriorityQueue<>(k + 1, (first, second) -> Float.compare(first.score(), second.score()));
+        float threshold = Float.NEGATIVE_INFINITY;
+        for (int slot = from; slot < to; slot++) {
+            float score = dot(query, slot * dimension, vectors);
+            if (score > threshold && !ids[slot].equals(excludeId)) {
+                offer(best, new Match(ids[slot], score), k);
+                if (best.size() == k) {
+                    threshold = best.peek().score();
+                }
+            }
+        }
+        return best;
+    }
+
+    private static void offer(PriorityQueue<Match> best, Match match, int k) {
+        if (best.size() < k) {
+            best.add(match);
+        } else if (match.score() > best.peek().score()) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    /**
+     * Dot product of the query vector and the vector in data that starts at the provided offset. We use several
+     * independent sums so the JIT compiler can keep multiple multiply-adds in flight.
+     */
+    private float dot(float[] query, int offset, float[] data) {
+        float sum0 = 0;
+        float sum1 = 0;
+        float sum2 = 0;
+        float sum3 = 0;
+        int i = 0;
+        for (; i + 3 < dimension; i += 4) {
+            sum0 += query[i] * data[offset + i];
+            sum1 += query[i + 1] * data[offset + i + 1];
+            sum2 += query[i + 2] * data[offset + i + 2];
+            sum3 += query[i + 3] * data[offset + i + 3];
+        }
+        for (; i < dimension; i++) {
+            sum0 += query[i] * data[offset + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * @return the number of vectors in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of dimensions of the vectors in the index
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+}
@@ -0,0 +1,131 @@
+package eu.europeana.api.embedding.service;
+
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import eu.europeana.api.embedding.exception.ExecutorException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A Python process that loads the models once and then forks new worker processes on request. Workers share the
+ * (read-only) model memory of the zygote, so they use less memory and start almost immediately.
+ * If the zygote process stops, it is restarted the next time a worker is requested.
+ */
+public class Zygote {
+
+    private static final Logger LOG = LogManager.getLogger(Zygote.class);
+
+    private static final String HOST = "127.0.0.1";
+    private static final String PROCESS_TERMINATE_SIGNAL = "{TERMINATE}";
+    private static final Pattern PID_PATTERN = Pattern.compile("'pid': (\\d+)");
+    // loading the models can take a while, so we wait this long for the zygote to accept connections
+    private static final long START_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+    private static final long CONNECT_RETRY_INTERVAL = 1000;
+    private static final int SPAWN_TIMEOUT = 30_000;
+
+    private final int portNr;
+    private final int threads;
+    private final String directory;
+
+    private ProcessHandle process;
+
+    /**
+     * Start a new zygote process
+     * @param portNr the port number on which the zygote should listen for requests to start a worker
+     * @param threads the number of threads each worker may use for computations, 0 means the libraries decide
+     * @param directory the folder where the Python data is
+     * @throws EuropeanaApiException when there's a problem starting the zygote process
+     */
+    public Zygote(int portNr, int threads, String directory) throws EuropeanaApiException {
+        this.portNr = portNr;
+        this.threads = threads;
+        this.directory = directory;
+        start();
+    }
+
+    private void start() throws EuropeanaApiException {
+        List<String> command = Executor.getLaunchCommand();
+        command.add("--zygote");
+        command.add("--port=" + portNr);
+        this.process = ExecutorUtils.startProcess(directory, threads, command.toArray(new String[0]))
+                .getProcess().toHandle();
+        LOG.info("Started zygote process with pid {} on port {}", process.pid(), portNr);
+    }
+
+    /**
+     * Ask the zygote to fork a new worker process. If the zygote isn't running anymore it is restarted first. This
+     * waits until the zygote has loaded its models.
+     * @param arguments the command-line arguments for the worker (e.g. port number)
+     * @return the process id of the new worker
+     * @throws EuropeanaApiException when the zygote could not start the worker
+     */
+    public synchronized long spawn(List<String> arguments) throws EuropeanaApiException {
+        if (!process.isAlive()) {
+            LOG.warn("Zygote process {} stopped, restarting it...", process.pid());
+            start();
+        }
+        String request = arguments.stream()
+                .map(argument -> "\"" + argument + "\"")
+                .collect(Collectors.joining(", ", "{\"spawn\": [", "]}"));
+        long start = System.currentTimeMillis();
+        while (true) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(HOST, portNr), SPAWN_TIMEOUT);
+                socket.setSoTimeout(SPAWN_TIMEOUT);
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, Charset.defaultCharset());
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), Charset.defaultCharset()));
+                out.println(request);
+                String answer = in.readLine();
+                Matcher matcher = PID_PATTERN.matcher(answer == null ? "" : answer);
+                if (!matcher.find()) {
+                    throw new ExecutorException("Zygote could not start worker: " + answer, false);
+                }
+                LOG.debug("Zygote started worker {} in {} ms", arguments, System.currentTimeMillis() - start);
+                return Long.parseLong(matcher.group(1));
+            } catch (IOException e) {
+                // most likely the zygote is still loading its models
+                if (!process.isAlive() || System.currentTimeMillis() - start > START_TIMEOUT) {
+                    throw new ExecutorException("Zygote process not available", e, true);
+                }
+                LOG.debug("Zygote not available yet, retrying...");
+                sleep();
+            }
+        }
+    }
+
+    private void sleep() throws ExecutorException {
+        try {
+            Thread.sleep(CONNECT_RETRY_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutorException("Interrupted while waiting for zygote", e, false);
+        }
+    }
+
+    /**
+     * Stop the zygote process. Workers that were started by the zygote keep running.
+     */
+    public synchronized void destroy() {
+        LOG.debug("Sending terminate signal to zygote process {}", process.pid());
+        try (Socket socket = new Socket(HOST, portNr);
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, Charset.defaultCharset())) {
+            out.println(PROCESS_TERMINATE_SIGNAL);
+        } catch (IOException e) {
+            LOG.error("Error sending terminate signal to zygote process {}. Forcing process kill...", process.pid(), e);
+            process.destroyForcibly();
+        }
+    }
+
+}
@@ -1,13 +1,18 @@
 package eu.europeana.api.embedding.web;
 
 import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import eu.europeana.api.embedding.config.WebMvcConfig;
+import eu.europeana.api.embedding.exception.InvalidRequestException;
 import eu.europeana.api.embedding.service.EmbeddingsService;
+import eu.europeana.api.embedding.service.IncrementalEmbeddingService;
+import eu.europeana.api.embedding.service.RequestPriority;
 import eu.europeana.api.recommend.common.model.EmbeddingRequestData;
 import eu.europeana.api.recommend.common.model.EmbeddingResponse;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -17,21 +22,104 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class EmbeddingsController {
 
+    /** Header with which clients can set the priority of a request (interactive or bulk) */
+    public static final String HEADER_PRIORITY = "X-Embedding-Priority";
+    /** Header with which clients can set the maximum processing time of a request in milliseconds */
+    public static final String HEADER_TIMEOUT = "X-Request-Timeout";
+
+    private static final String STATUS_SUCCESS = "success";
+
     private EmbeddingsService embeddingsService;
+    private IncrementalEmbeddingService incrementalEmbeddingService;
 
-    public EmbeddingsController(EmbeddingsService embeddingsService) {
+    public EmbeddingsController(EmbeddingsService embeddingsService,
+                                IncrementalEmbeddingService incrementalEmbeddingService) {
         this.embeddingsService = embeddingsService;
+        this.incrementalEmbeddingService = incrementalEmbeddingService;
+    }
+
+    /**
+     * Here we mimic the original Embeddings API endpoint. Besides json, requests and responses can also be in CBOR or
+     * Smile format and request bodies can be compressed (see RequestDecompressionFilter)
+     * @param embeddingRequestData data to process
+     * @param priority optional, priority of the request (interactive or bulk), default is interactive
+     * @param timeout optional, maximum processing time in milliseconds
+     * @return EmbeddingsResponse object
+     * @throws EuropeanaApiException if there is a problem generating embeddings
+     */
+    @PostMapping(value = "/embedding_api/embeddings", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, WebMvcConfig.APPLICATION_SMILE_VALUE})
+    public EmbeddingResponse embeddings(@RequestBody EmbeddingRequestData embeddingRequestData,
+                                        @RequestHeader(value = HEADER_PRIORITY, required = false) String priority,
+                                        @RequestHeader(value = HEADER_TIMEOUT, required = false) Long timeout)
+            throws EuropeanaApiException {
+        RequestPriority requestPriority = RequestPriority.fromString(priority);
+        if (requestPriority == null) {
+            throw new InvalidRequestException("Unknown value for header " + HEADER_PRIORITY + ": " + priority);
+        }
+        return generateEmbeddings(embeddingRequestData, requestPriority, timeout);
     }
 
     /**
-     * Here we mimic the original Embeddings API endpoint
+     * Same as the regular embeddings endpoint, but requests are always processed with bulk priority
      * @param embeddingRequestData data to process
+     * @param timeout optional, maximum processing time in milliseconds
      * @return EmbeddingsResponse object
      * @throws EuropeanaApiException if there is a problem generating embeddings
      */
-    @PostMapping(value = "/embedding_api/embeddings", produces = MediaType.APPLICATION_JSON_VALUE)
-    public EmbeddingResponse embeddings(@RequestBody EmbeddingRequestData embeddingRequestData) throws EuropeanaApiException {
-        return embeddingsService.generateEmbeddings(embeddingRequestData);
+    @PostMapping(value = "/embedding_api/embeddings/bulk", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, WebMvcConfig.APPLICATION_SMILE_VALUE})
+    public EmbeddingResponse embeddingsBulk(@RequestBody EmbeddingRequestData embeddingRequestData,
+                                            @RequestHeader(value = HEADER_TIMEOUT, required = false) Long timeout)
+            throws EuropeanaApiException {
+        return generateEmbeddings(embeddingRequestData, RequestPriority.BULK, timeout);
+    }
+
+    /**
+     * Generate vectors only for records that changed since the previous time they were embedded. Clients send each
+     * record with the fingerprint they received the previous time. Records of which the text that is used for the
+     * embedding didn't change are returned with status 'unchanged' and without embedding.
+     * @param request the records to process, each optionally with a 'fingerprint' field
+     * @param priority optional, priority of the request (interactive or bulk), default is interactive
+     * @param timeout optional, maximum processing time in milliseconds
+     * @return IncrementalResponse object
+     * @throws EuropeanaApiException if there is a problem generating embeddings
+     */
+    @PostMapping(value = "/embedding_api/embeddings/incremental", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, WebMvcConfig.APPLICATION_SMILE_VALUE})
+    public IncrementalResponse embeddingsIncremental(
+            @RequestBody IncrementalRequest request,
+            @RequestHeader(value = HEADER_PRIORITY, required = false) String priority,
+            @RequestHeader(value = HEADER_TIMEOUT, required = false) Long timeout) throws EuropeanaApiException {
+        RequestPriority requestPriority = RequestPriority.fromString(priority);
+        if (requestPriority == null) {
+            throw new InvalidRequestException("Unknown value for header " + HEADER_PRIORITY + ": " + priority);
+        }
+        if (request.records() == null) {
+            throw new InvalidRequestException("No records provided");
+        }
+        validateTimeout(timeout);
+        if (timeout == null) {
+            return new IncrementalResponse(STATUS_SUCCESS,
+                    incrementalEmbeddingService.generateEmbeddings(request.records(), requestPriority));
+        }
+        return new IncrementalResponse(STATUS_SUCCESS,
+                incrementalEmbeddingService.generateEmbeddings(request.records(), requestPriority, timeout));
+    }
+
+    private EmbeddingResponse generateEmbeddings(EmbeddingRequestData embeddingRequestData, RequestPriority priority,
+                                                 Long timeout) throws EuropeanaApiException {
+        if (timeout == null) {
+            return embeddingsService.generateEmbeddings(embeddingRequestData, priority);
+        }
+        validateTimeout(timeout);
+        return embeddingsService.generateEmbeddings(embeddingRequestData, priority, timeout);
+    }
+
+    private void validateTimeout(Long timeout) throws InvalidRequestException {
+        if (timeout != null && timeout <= 0) {
+            throw new InvalidRequestException("Value of header " + HEADER_TIMEOUT + " should be a positive number");
+        }
     }
 
     @GetMapping(value = "/embedding_api/status", produces = MediaType.TEXT_PLAIN_VALUE)
@@ -0,0 +1,13 @@
+package eu.europeana.api.embedding.web;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+
+/**
+ * Request for the incremental embeddings endpoint. Same as a regular embeddings request, but each record can contain
+ * a 'fingerprint' field with the fingerprint that was returned the previous time the record was embedded.
+ * @param records the records to process
+ */
+public record IncrementalRequest(List<ObjectNode> records) {
+}
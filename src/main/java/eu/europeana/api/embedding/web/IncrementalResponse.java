@@ -0,0 +1,12 @@
+package eu.europeana.api.embedding.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Response of the incremental embeddings endpoint, similar in structure to an embeddings response
+ * @param status status of the request ("success")
+ * @param data for each record an object with its 'id', 'status' ("embedded" or "unchanged"), 'fingerprint' and for
+ *             embedded records the 'embedding'
+ */
+public record IncrementalResponse(String status, JsonNode data) {
+}
@@ -0,0 +1,133 @@
+package eu.europeana.api.embedding.web;
+
+import eu.europeana.api.embedding.capture.CaptureWriter;
+import eu.europeana.api.embedding.capture.CapturedRequest;
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optionally captures a sample of the requests to the embeddings endpoints, so they can be replayed later for
+ * performance testing with realistic data (see ReplayTool). This filter runs after the RequestDecompressionFilter, so
+ * request bodies are stored decompressed.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class RequestCaptureFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LogManager.getLogger(RequestCaptureFilter.class);
+
+    private static final String CAPTURE_PATH = "/embedding_api/embeddings";
+    // larger requests are not captured
+    private static final int MAX_BODY_SIZE = 10 * 1024 * 1024;
+
+    private final double sampleRate;
+    private final CaptureWriter writer;
+    private final Counter capturedCounter;
+    private final Counter droppedCounter;
+
+    /**
+     * Initialize a new capture filter
+     * @param settings application settings
+     * @param meterRegistry registry for metrics
+     * @throws IOException when the capture directory can't be created
+     */
+    public RequestCaptureFilter(EmbeddingSettings settings, MeterRegistry meterRegistry) throws IOException {
+        this.sampleRate = settings.getCaptureSampleRate();
+        if (settings.isCaptureEnabled()) {
+            this.writer = new CaptureWriter(Path.of(settings.getCaptureDirectory()),
+                    settings.getCaptureMaxFileSize() * 1024 * 1024, settings.getCaptureMaxFiles());
+        } else {
+            this.writer = null;
+        }
+        this.capturedCounter = Counter.builder("embedding.capture.requests").tag("result", "captured")
+                .description("Number of captured requests").register(meterRegistry);
+        this.droppedCounter = Counter.builder("embedding.capture.requests").tag("result", "dropped")
+                .description("Number of sampled requests that were not captured (queue full or body too large)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return writer == null
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + CAPTURE_PATH)
+                || ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LimitedCachingRequest cachingRequest = new LimitedCachingRequest(request);
+        long time = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(cachingRequest, response);
+        } finally {
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (cachingRequest.overflow) {
+                droppedCounter.increment();
+            } else {
+                capture(cachingRequest, response, time, duration);
+            }
+        }
+    }
+
+    private void capture(ContentCachingRequestWrapper request, HttpServletResponse response, long time, long duration) {
+        CapturedRequest captured = new CapturedRequest(time, duration, response.getStatus(),
+                request.getRequestURI().substring(request.getContextPath().length()), request.getQueryString(),
+                request.getContentType(), request.getHeader(EmbeddingsController.HEADER_PRIORITY),
+                request.getHeader(EmbeddingsController.HEADER_TIMEOUT), request.getContentAsByteArray());
+        if (writer.offer(captured)) {
+            capturedCounter.increment();
+        } else {
+            LOG.debug("Capture queue full, dropping request");
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Write the remaining captured requests
+     */
+    @PreDestroy
+    public void close() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Caches the request body (up to the maximum size) while it's read
+     */
+    private static final class LimitedCachingRequest extends ContentCachingRequestWrapper {
+
+        private boolean overflow;
+
+        private LimitedCachingRequest(HttpServletRequest request) {
+            super(request, MAX_BODY_SIZE);
+        }
+
+        @Override
+        protected void handleContentOverflow(int contentCacheLimit) {
+            overflow = true;
+        }
+    }
+}
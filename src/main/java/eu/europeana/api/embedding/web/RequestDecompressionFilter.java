@@ -0,0 +1,213 @@
+package eu.europeana.api.embedding.web;
+
+import com.github.luben.zstd.ZstdInputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses request bodies that are sent with a Content-Encoding header (gzip or zstd), so controllers can read
+ * them as usual. Requests with an unsupported encoding are refused with HTTP status 415.
+ * This runs before our other filters, so they also see the decompressed body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LogManager.getLogger(RequestDecompressionFilter.class);
+
+    /** Maximum size of a decompressed request body, to protect against decompression bombs */
+    static final long MAX_DECOMPRESSED_SIZE = 100L * 1024 * 1024;
+
+    private static final String ENCODING_GZIP = "gzip";
+    private static final String ENCODING_ZSTD = "zstd";
+    private static final String ENCODING_IDENTITY = "identity";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || ENCODING_IDENTITY.equalsIgnoreCase(encoding.trim())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String normalized = encoding.trim().toLowerCase(Locale.ROOT);
+        if (!ENCODING_GZIP.equals(normalized) && !ENCODING_ZSTD.equals(normalized)) {
+            LOG.debug("Unsupported content encoding {}", encoding);
+            response.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                    "Unsupported Content-Encoding, supported are " + ENCODING_GZIP + " and " + ENCODING_ZSTD);
+            return;
+        }
+        filterChain.doFilter(new DecompressedRequest(request, normalized), response);
+    }
+
+    /**
+     * Request wrapper that returns the decompressed body and hides the encoding and length headers of the original
+     */
+    private static final class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final String encoding;
+        private ServletInputStream inputStream;
+
+        private DecompressedRequest(HttpServletRequest request, String encoding) {
+            super(request);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                InputStream compressed = super.getInputStream();
+                inputStream = new LimitedServletInputStream(ENCODING_GZIP.equals(encoding)
+                        ? new GZIPInputStream(compressed)
+                        : new ZstdInputStream(compressed), this);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String charset = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset)));
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isHiddenHeader(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isHiddenHeader(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        private static boolean isHiddenHeader(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Servlet input stream that reads from a decompressing stream and fails when too much data is read.
+     * Decompression reads the original stream in blocking mode, so with asynchronous processing all data is reported
+     * as available right away and the read listener is notified on a container thread.
+     */
+    private static final class LimitedServletInputStream extends ServletInputStream {
+
+        private final InputStream in;
+        private final HttpServletRequest request;
+        private long read;
+        private boolean finished;
+        private ReadListener readListener;
+
+        private LimitedServletInputStream(InputStream in, HttpServletRequest request) {
+            this.in = in;
+            this.request = request;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            count(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            count(n);
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            if (n < 0) {
+                finished = true;
+                return;
+            }
+            read += n;
+            if (read > MAX_DECOMPRESSED_SIZE) {
+                throw new IOException("Decompressed request body is larger than " + MAX_DECOMPRESSED_SIZE + " bytes");
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            Objects.requireNonNull(readListener, "Read listener is null");
+            if (!request.isAsyncStarted()) {
+                throw new IllegalStateException("Asynchronous processing has not been started");
+            }
+            if (this.readListener != null) {
+                throw new IllegalStateException("Read listener has already been set");
+            }
+            this.readListener = readListener;
+            request.getAsyncContext().start(this::notifyReadListener);
+        }
+
+        private void notifyReadListener() {
+            try {
+                readListener.onDataAvailable();
+                if (finished) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException | RuntimeException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package eu.europeana.api.embedding.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import eu.europeana.api.embedding.exception.InvalidRequestException;
+import eu.europeana.api.embedding.service.EmbeddingsService;
+import eu.europeana.api.embedding.service.RequestPriority;
+import eu.europeana.api.embedding.service.SimilarityService;
+import eu.europeana.api.recommend.common.model.EmbeddingRequestData;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rest Controller for finding records that are similar to a particular record ("more like this"), using the vector
+ * index of the Embedding API instance
+ */
+@RestController
+public class SimilarityController {
+
+    private static final String STATUS_SUCCESS = "success";
+    private static final String DEFAULT_K = "10";
+    private static final int MAX_K = 1000;
+
+    private final EmbeddingsService embeddingsService;
+    private final SimilarityService similarityService;
+
+    public SimilarityController(EmbeddingsService embeddingsService, SimilarityService similarityService) {
+        this.embeddingsService = embeddingsService;
+        this.similarityService = similarityService;
+    }
+
+    /**
+     * Find records that are similar to a record in the index
+     * @param id the id of the record
+     * @param k the maximum number of similar records to return
+     * @return SimilarityResponse object
+     * @throws EuropeanaApiException if the index is not enabled or the record is not in the index
+     */
+    @GetMapping(value = "/embedding_api/similar", produces = MediaType.APPLICATION_JSON_VALUE)
+    public SimilarityResponse similarById(@RequestParam String id,
+                                          @RequestParam(defaultValue = DEFAULT_K) int k) throws EuropeanaApiException {
+        validateK(k);
+        return new SimilarityResponse(STATUS_SUCCESS,
+                List.of(new SimilarityResponse.Result(id, similarityService.findSimilar(id, k))));
+    }
+
+    /**
+     * Generate vectors for the provided records and find similar records in the index for each of them
+     * @param embeddingRequestData the records to find similar records for
+     * @param k the maximum number of similar records to return per record
+     * @return SimilarityResponse object
+     * @throws EuropeanaApiException if the index is not enabled or there's a problem generating vectors
+     */
+    @PostMapping(value = "/embedding_api/similar", produces = MediaType.APPLICATION_JSON_VALUE)
+    public SimilarityResponse similarByRecords(@RequestBody EmbeddingRequestData embeddingRequestData,
+                                               @RequestParam(defaultValue = DEFAULT_K) int k)
+            throws EuropeanaApiException {
+        validateK(k);
+        similarityService.checkEnabled();
+        JsonNode vectors = embeddingsService.generateVectors(embeddingRequestData.getRecords(),
+                RequestPriority.INTERACTIVE);
+        List<SimilarityResponse.Result> results = new ArrayList<>();
+        if (vectors != null) {
+            for (JsonNode item : vectors) {
+                String id = item.path("id").asText(null);
+                float[] vector = SimilarityService.toVector(item.get("embedding"));
+                if (vector != null) {
+                    results.add(new SimilarityResponse.Result(id, similarityService.findSimilar(id, vector, k)));
+                }
+            }
+        }
+        return new SimilarityResponse(STATUS_SUCCESS, results);
+    }
+
+    private void validateK(int k) throws InvalidRequestException {
+        if (k < 1 || k > MAX_K) {
+            throw new InvalidRequestException("Parameter k should be between 1 and " + MAX_K);
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package eu.europeana.api.embedding.web;
+
+import eu.europeana.api.embedding.service.VectorIndex;
+
+import java.util.List;
+
+/**
+ * Response of the similarity endpoints, similar in structure to an embeddings response
+ * @param status status of the request ("success")
+ * @param data for each queried record the most similar records
+ */
+public record SimilarityResponse(String status, List<Result> data) {
+
+    /**
+     * Similar records for one queried record
+     * @param id id of the queried record
+     * @param similar most similar records, most similar first
+     */
+    public record Result(String id, List<VectorIndex.Match> similar) {
+    }
+}
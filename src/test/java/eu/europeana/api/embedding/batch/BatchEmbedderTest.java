@@ -0,0 +1,263 @@
+package eu.europeana.api.embedding.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import eu.europeana.api.embedding.exception.ConfigurationException;
+import eu.europeana.api.embedding.service.EmbeddingsService;
+import eu.europeana.api.embedding.service.RequestPriority;
+import eu.europeana.api.recommend.common.model.EmbeddingRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JUnit test for the BatchEmbedder class
+ */
+public class BatchEmbedderTest {
+
+    private static final int NR_RECORDS = 95;
+    private static final int DIMENSION = 4;
+    private static final int RECORDS_PER_REQUEST = 10;
+    private static final String FAILING_RECORD = "rec57";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path folder;
+
+    private Path input;
+    private Path output;
+    private EmbeddingSettings settings;
+    private EmbeddingsService embeddingsService;
+
+    // records sent to the service in the current run
+    private final List<String> requested = Collections.synchronizedList(new ArrayList<>());
+    private volatile String failingRecord;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        input = folder.resolve("records.ndjson");
+        output = folder.resolve("out/vectors");
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= NR_RECORDS; i++) {
+            lines.add("{\"id\":\"rec" + i + "\",\"title\":[\"Title " + i + "\"]}");
+            if (i == 30) {
+                lines.add("");
+                lines.add("not a record");
+            }
+        }
+        Files.write(input, lines, StandardCharsets.UTF_8);
+
+        settings = mock(EmbeddingSettings.class);
+        when(settings.getBatchInput()).thenReturn(input.toString());
+        when(settings.getBatchOutput()).thenReturn(output.toString());
+        when(settings.getBatchRecordsPerRequest()).thenReturn(RECORDS_PER_REQUEST);
+        when(settings.isBatchResume()).thenReturn(true);
+        when(settings.getBatchProgressInterval()).thenReturn(0L);
+
+        embeddingsService = mock(EmbeddingsService.class);
+        when(embeddingsService.getCapacity()).thenReturn(2);
+        when(embeddingsService.generateVectors(any(), eq(RequestPriority.BULK))).thenAnswer(invocation -> {
+            EmbeddingRecord[] records = invocation.getArgument(0);
+            ArrayNode data = mapper.createArrayNode();
+            for (EmbeddingRecord embeddingRecord : records) {
+                String id = mapper.valueToTree(embeddingRecord).get("id").asText();
+                if (id.equals(failingRecord)) {
+                    throw new IllegalStateException("Simulated failure for " + id);
+                }
+                requested.add(id);
+                ObjectNode item = data.addObject().put("id", id);
+                for (float value : getVector(id)) {
+                    item.withArray("embedding").add(value);
+                }
+            }
+            return data;
+        });
+    }
+
+    private static float[] getVector(String id) {
+        int nr = Integer.parseInt(id.substring("rec".length()));
+        float[] result = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            result[i] = nr + i / 10f;
+        }
+        return result;
+    }
+
+    private static List<String> getExpectedIds() {
+        List<String> result = new ArrayList<>();
+        for (int i = 1; i <= NR_RECORDS; i++) {
+            result.add("rec" + i);
+        }
+        return result;
+    }
+
+    private int run(String format) throws Exception {
+        when(settings.getBatchFormat()).thenReturn(format);
+        requested.clear();
+        BatchEmbedder embedder = new BatchEmbedder(embeddingsService, settings);
+        embedder.run(null);
+        return embedder.getExitCode();
+    }
+
+    /**
+     * Append data to a file as if the application was killed after writing it but before saving the checkpoint
+     */
+    private static void appendUncheckpointed(Path file, byte[] data) throws IOException {
+        Files.write(file, data, StandardOpenOption.APPEND);
+    }
+
+    private List<String> readIds(String format) throws IOException {
+        if ("binary".equals(format)) {
+            return Files.readAllLines(Path.of(output + ".ids"), StandardCharsets.UTF_8);
+        }
+        List<String> result = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of(output + ".ndjson"), StandardCharsets.UTF_8)) {
+            JsonNode item = mapper.readTree(line);
+            assertArrayEquals(getVector(item.get("id").asText()), toFloats(item.get("embedding")));
+            result.add(item.get("id").asText());
+        }
+        return result;
+    }
+
+    private static float[] toFloats(JsonNode embedding) {
+        float[] result = new float[embedding.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (float) embedding.get(i).asDouble();
+        }
+        return result;
+    }
+
+    private void checkVectors(List<String> ids) throws IOException {
+        byte[] bytes = Files.readAllBytes(Path.of(output + ".vectors"));
+        assertEquals(ids.size() * DIMENSION * Float.BYTES, bytes.length);
+        ByteBuffer vectors = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (String id : ids) {
+            float[] vector = new float[DIMENSION];
+            vectors.asFloatBuffer().get(vector);
+            vectors.position(vectors.position() + DIMENSION * Float.BYTES);
+            assertArrayEquals(getVector(id), vector, id);
+        }
+    }
+
+    /**
+     * Stop a run halfway, resume it and check that all vectors are written exactly once and in the right order
+     */
+    private void testResume(String format) throws Exception {
+        failingRecord = FAILING_RECORD;
+        assertEquals(1, run(format));
+        assertTrue(Files.exists(Path.of(output + ".checkpoint")));
+        List<String> firstRun = readIds(format);
+        assertFalse(firstRun.isEmpty());
+        assertFalse(firstRun.contains(FAILING_RECORD));
+        assertEquals(getExpectedIds().subList(0, firstRun.size()), firstRun);
+
+        // data of batches that were written after the last checkpoint should be removed when resuming
+        if ("binary".equals(format)) {
+            appendUncheckpointed(Path.of(output + ".vectors"), new byte[DIMENSION * Float.BYTES]);
+            appendUncheckpointed(Path.of(output + ".ids"), "rec1\n".getBytes(StandardCharsets.UTF_8));
+        } else {
+            String lines = "{\"id\":\"rec1\",\"embedding\":[1.0,1.1,1.2,1.3]}\n{\"id\":\"rec";
+            appendUncheckpointed(Path.of(output + ".ndjson"), lines.getBytes(StandardCharsets.UTF_8));
+        }
+
+        failingRecord = null;
+        assertEquals(0, run(format));
+        Set<String> resent = new HashSet<>(requested);
+        resent.retainAll(firstRun);
+        assertTrue(resent.isEmpty(), "Records of first run were sent again: " + resent);
+
+        List<String> ids = readIds(format);
+        assertEquals(getExpectedIds(), ids);
+        if ("binary".equals(format)) {
+            checkVectors(ids);
+        }
+    }
+
+    @Test
+    public void testResumeBinary() throws Exception {
+        testResume("binary");
+    }
+
+    @Test
+    public void testResumeNdjson() throws Exception {
+        testResume("ndjson");
+    }
+
+    @Test
+    public void testCompletedRunIsNotRepeated() throws Exception {
+        assertEquals(0, run("binary"));
+        assertEquals(NR_RECORDS, requested.size());
+
+        assertEquals(0, run("binary"));
+        assertTrue(requested.isEmpty());
+        List<String> ids = readIds("binary");
+        assertEquals(getExpectedIds(), ids);
+        checkVectors(ids);
+    }
+
+    @Test
+    public void testNoResume() throws Exception {
+        assertEquals(0, run("binary"));
+
+        when(settings.isBatchResume()).thenReturn(false);
+        assertEquals(0, run("binary"));
+        assertEquals(NR_RECORDS, requested.size());
+        List<String> ids = readIds("binary");
+        assertEquals(getExpectedIds(), ids);
+        checkVectors(ids);
+    }
+
+    @Test
+    public void testCheckpointOfOtherFormat() throws Exception {
+        failingRecord = FAILING_RECORD;
+        assertEquals(1, run("binary"));
+
+        failingRecord = null;
+        assertThrows(ConfigurationException.class, () -> run("ndjson"));
+    }
+
+    @Test
+    public void testBatchMode() {
+        assertFalse(BatchEmbedder.isBatchMode(new String[0], null));
+        assertFalse(BatchEmbedder.isBatchMode(new String[] {"--batch.output=vectors"}, " "));
+        assertFalse(BatchEmbedder.isBatchMode(new String[] {"--batch.input="}, null));
+        assertFalse(BatchEmbedder.isBatchMode(new String[] {"--batch.input", "--batch.output=vectors"}, null));
+        assertTrue(BatchEmbedder.isBatchMode(new String[] {"--batch.input=records.ndjson"}, null));
+        assertTrue(BatchEmbedder.isBatchMode(new String[] {"--batch.input", "records.ndjson"}, null));
+        assertTrue(BatchEmbedder.isBatchMode(new String[0], "records.ndjson"));
+    }
+
+    @Test
+    public void testNormalizeArguments() {
+        String[] args = {"--batch.input", "records.ndjson", "--batch.format=ndjson"};
+        assertArrayEquals(new String[] {"--batch.input=records.ndjson", "--batch.format=ndjson"},
+                BatchEmbedder.normalizeArguments(args));
+        assertArrayEquals(new String[] {"--batch.input=records.ndjson"},
+                BatchEmbedder.normalizeArguments(new String[] {"--batch.input=records.ndjson"}));
+        assertArrayEquals(new String[] {"--batch.input", "--debug"},
+                BatchEmbedder.normalizeArguments(new String[] {"--batch.input", "--debug"}));
+    }
+}
@@ -0,0 +1,62 @@
+package eu.europeana.api.embedding.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the CaptureWriter class
+ */
+public class CaptureWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriteAndRotate() throws IOException {
+        // with a max file size of 1 byte every request is written to a new file
+        CaptureWriter writer = new CaptureWriter(directory, 1, 2);
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(writer.offer(new CapturedRequest(i, 10 * i, 200, "/embedding_api/embeddings", null,
+                    "application/json", null, null, ("{\"records\": [" + i + "]}").getBytes(StandardCharsets.UTF_8))));
+        }
+        writer.close();
+        assertFalse(writer.offer(new CapturedRequest(4, 1, 200, "/", null, null, null, null, new byte[0])));
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.sorted().toList();
+        }
+        assertEquals(2, files.size()); // oldest file is removed
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<CapturedRequest> requests = new ArrayList<>();
+        for (Path file : files) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    requests.add(mapper.readValue(line, CapturedRequest.class));
+                }
+            }
+        }
+        assertEquals(2, requests.size());
+        assertEquals(2, requests.get(0).time());
+        assertEquals(30, requests.get(1).duration());
+        assertEquals("{\"records\": [3]}", new String(requests.get(1).body(), StandardCharsets.UTF_8));
+        assertNull(requests.get(1).priority());
+    }
+}
@@ -0,0 +1,35 @@
+package eu.europeana.api.embedding.probes;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * JUnit test for the ReadinessPublisher class
+ */
+public class ReadinessPublisherTest {
+
+    @Test
+    public void testNotReadyAgainWhenShuttingDown() {
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        ReadinessPublisher publisher = new ReadinessPublisher(eventPublisher);
+        assertTrue(publisher.publish(ReadinessState.REFUSING_TRAFFIC));
+        publisher.publishShuttingDown();
+        // e.g. a queue check that started before the shutdown
+        assertFalse(publisher.publish(ReadinessState.ACCEPTING_TRAFFIC));
+
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        for (ApplicationEvent event : events.getAllValues()) {
+            assertEquals(ReadinessState.REFUSING_TRAFFIC, ((AvailabilityChangeEvent<?>) event).getState());
+        }
+    }
+}
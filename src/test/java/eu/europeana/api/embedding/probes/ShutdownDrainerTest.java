@@ -0,0 +1,110 @@
+package eu.europeana.api.embedding.probes;
+
+import eu.europeana.api.embedding.config.EmbeddingSettings;
+import eu.europeana.api.embedding.service.EmbeddingsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JUnit test for the ShutdownDrainer class
+ */
+public class ShutdownDrainerTest {
+
+    private static final long DRAIN_TIMEOUT = 5000;
+    private static final long READINESS_DELAY = 300;
+
+    private EmbeddingsService embeddingsService;
+    private ApplicationEventPublisher eventPublisher;
+    private EmbeddingSettings settings;
+    private ShutdownDrainer drainer;
+
+    @BeforeEach
+    public void setup() {
+        embeddingsService = mock(EmbeddingsService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        settings = mock(EmbeddingSettings.class);
+        when(settings.getExecutorDrainTimeout()).thenReturn(DRAIN_TIMEOUT);
+        drainer = newDrainer();
+    }
+
+    private ShutdownDrainer newDrainer() {
+        return new ShutdownDrainer(embeddingsService, new ReadinessPublisher(eventPublisher), new SimpleMeterRegistry(),
+                settings);
+    }
+
+    @Test
+    public void testStopExecutorsAfterRequestsFinished() throws Exception {
+        CountDownLatch requestsFinished = new CountDownLatch(1);
+        when(embeddingsService.awaitIdle(anyLong()))
+                .thenAnswer(invocation -> requestsFinished.await(10, TimeUnit.SECONDS));
+
+        Thread shutdown = new Thread(() -> drainer.onShutdown(null));
+        shutdown.start();
+        verify(embeddingsService, timeout(5000)).awaitIdle(DRAIN_TIMEOUT);
+        // executors should keep running while requests are being processed
+        verify(embeddingsService, never()).stopExecutors();
+
+        requestsFinished.countDown();
+        shutdown.join(10_000);
+        assertFalse(shutdown.isAlive());
+
+        ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+        InOrder order = inOrder(eventPublisher, embeddingsService);
+        order.verify(eventPublisher).publishEvent(event.capture());
+        order.verify(embeddingsService).startDrain();
+        order.verify(embeddingsService).awaitIdle(DRAIN_TIMEOUT);
+        order.verify(embeddingsService).stopExecutors();
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, ((AvailabilityChangeEvent<?>) event.getValue()).getState());
+    }
+
+    @Test
+    public void testKeepAcceptingRequestsDuringReadinessDelay() {
+        when(settings.getExecutorDrainReadinessDelay()).thenReturn(READINESS_DELAY);
+        drainer = newDrainer();
+        long[] drainStart = new long[1];
+        doAnswer(invocation -> drainStart[0] = System.currentTimeMillis()).when(embeddingsService).startDrain();
+
+        long start = System.currentTimeMillis();
+        drainer.onShutdown(null);
+        verify(eventPublisher).publishEvent(any(ApplicationEvent.class));
+        assertTrue(drainStart[0] - start >= READINESS_DELAY, "Requests refused before readiness change was noticed");
+    }
+
+    @Test
+    public void testStopExecutorsAfterDrainTimeout() {
+        when(embeddingsService.awaitIdle(anyLong())).thenReturn(false);
+        drainer.onShutdown(null);
+        verify(embeddingsService).stopExecutors();
+    }
+
+    @Test
+    public void testShutdownOnlyOnce() {
+        when(embeddingsService.awaitIdle(anyLong())).thenReturn(true);
+        drainer.onShutdown(null);
+        drainer.onShutdown(null);
+        verify(embeddingsService, times(1)).startDrain();
+        verify(embeddingsService, times(1)).stopExecutors();
+    }
+}
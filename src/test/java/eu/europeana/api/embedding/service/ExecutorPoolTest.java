@@ -0,0 +1,220 @@
+package eu.europeana.api.embedding.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the ExecutorPool class. We use remote executors here, because those don't start a Python process.
+ */
+public class ExecutorPoolTest {
+
+    private static final String HOST = "localhost";
+
+    private static final long WAIT_MS = 5000;
+
+    private static Executor newExecutor(int portNr, int pipelineDepth) {
+        return new Executor(HOST, portNr, pipelineDepth);
+    }
+
+    private static ExecutorPool newPool(int reservedInteractive, int reservedBulk, int pipelineDepth,
+                                        long stealAfterMs, int nrExecutors) {
+        ExecutorPool pool = new ExecutorPool(Map.of(RequestPriority.INTERACTIVE, reservedInteractive,
+                RequestPriority.BULK, reservedBulk), stealAfterMs);
+        for (int i = 0; i < nrExecutors; i++) {
+            pool.add(newExecutor(i, pipelineDepth));
+        }
+        return pool;
+    }
+
+    private static CompletableFuture<List<Executor>> acquireAsync(ExecutorPool pool, RequestPriority priority) {
+        CompletableFuture<List<Executor>> result = CompletableFuture.supplyAsync(
+                () -> pool.acquire(priority, 1, WAIT_MS));
+        // wait until the request is queued
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (pool.getQueueSize(priority) == 0 && !result.isDone() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        return result;
+    }
+
+    @Test
+    public void testLeastWorkFirst() {
+        ExecutorPool pool = new ExecutorPool(Map.of(), 0);
+        Executor slow = newExecutor(1, 2);
+        Executor fast = newExecutor(2, 2);
+        slow.updateRecordLatency(100, 1);
+        fast.updateRecordLatency(10, 1);
+        pool.add(slow);
+        pool.add(fast);
+
+        List<Executor> result = pool.acquire(RequestPriority.INTERACTIVE, 2, 0);
+        assertEquals(List.of(fast, slow), result);
+        // both have 1 free slot left, the fast one is still expected to be done first
+        assertEquals(List.of(fast), pool.acquire(RequestPriority.INTERACTIVE, 1, 0));
+        assertEquals(List.of(slow), pool.acquire(RequestPriority.INTERACTIVE, 1, 0));
+        assertTrue(pool.acquire(RequestPriority.INTERACTIVE, 1, 0).isEmpty());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedFirst() {
+        ExecutorPool pool = new ExecutorPool(Map.of(), 0);
+        Executor first = newExecutor(1, 1);
+        Executor second = newExecutor(2, 1);
+        pool.add(first);
+        pool.add(second);
+
+        // without latency measurements executors are used in turn
+        Executor used = pool.acquire(RequestPriority.INTERACTIVE, 1, 0).get(0);
+        pool.release(used, RequestPriority.INTERACTIVE);
+        Executor other = pool.acquire(RequestPriority.INTERACTIVE, 1, 0).get(0);
+        assertNotSame(used, other);
+    }
+
+    @Test
+    public void testSortWhileExecutorsAreUpdated() throws InterruptedException {
+        ExecutorPool pool = new ExecutorPool(Map.of(), 0);
+        List<Executor> executors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Executor executor = newExecutor(i, 1);
+            executor.updateRecordLatency(i, 1);
+            executors.add(executor);
+            pool.add(executor);
+        }
+        // latencies change all the time while the pool sorts the executors
+        Thread updater = new Thread(() -> {
+            Random random = new Random(1);
+            while (!Thread.currentThread().isInterrupted()) {
+                executors.get(random.nextInt(executors.size())).updateRecordLatency(random.nextInt(1000), 1);
+            }
+        });
+        updater.start();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                List<Executor> result = pool.acquire(RequestPriority.INTERACTIVE, 100, 0);
+                assertEquals(100, result.size());
+                result.forEach(executor -> pool.release(executor, RequestPriority.INTERACTIVE));
+            }
+        } finally {
+            updater.interrupt();
+            updater.join();
+        }
+    }
+
+    @Test
+    public void testTimeout() {
+        ExecutorPool pool = newPool(0, 0, 1, 0, 1);
+        assertEquals(1, pool.acquire(RequestPriority.INTERACTIVE, 1, 0).size());
+
+        long start = System.currentTimeMillis();
+        assertTrue(pool.acquire(RequestPriority.INTERACTIVE, 1, 200).isEmpty());
+        assertTrue(System.currentTimeMillis() - start >= 190);
+        assertEquals(0, pool.getQueueSize(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testInteractiveBeforeBulk() throws Exception {
+        ExecutorPool pool = newPool(0, 0, 1, 0, 1);
+        Executor executor = pool.acquire(RequestPriority.BULK, 1, 0).get(0);
+
+        CompletableFuture<List<Executor>> bulk = acquireAsync(pool, RequestPriority.BULK);
+        CompletableFuture<List<Executor>> interactive = acquireAsync(pool, RequestPriority.INTERACTIVE);
+        pool.release(executor, RequestPriority.BULK);
+
+        // the interactive request came later, but goes first
+        assertEquals(List.of(executor), interactive.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        assertFalse(bulk.isDone());
+        pool.release(executor, RequestPriority.INTERACTIVE);
+        assertEquals(List.of(executor), bulk.get(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testReservedExecutors() {
+        ExecutorPool pool = newPool(0, 1, 1, -1, 2);
+        // one of the 2 executors is reserved for bulk requests
+        assertEquals(1, pool.acquire(RequestPriority.INTERACTIVE, 2, 0).size());
+        assertTrue(pool.acquire(RequestPriority.INTERACTIVE, 1, 0).isEmpty());
+        assertEquals(1, pool.acquire(RequestPriority.BULK, 2, 0).size());
+        assertEquals(1, pool.getInUse(RequestPriority.INTERACTIVE));
+        assertEquals(1, pool.getInUse(RequestPriority.BULK));
+    }
+
+    @Test
+    public void testReservedExecutorsUsedWhileHigherPriorityWaits() throws Exception {
+        ExecutorPool pool = newPool(0, 1, 1, -1, 2);
+        Executor unreserved = pool.acquire(RequestPriority.INTERACTIVE, 1, 0).get(0);
+        CompletableFuture<List<Executor>> interactive = acquireAsync(pool, RequestPriority.INTERACTIVE);
+
+        // the interactive request can't use the executor reserved for bulk, so bulk requests should be able to
+        long start = System.currentTimeMillis();
+        List<Executor> bulk = pool.acquire(RequestPriority.BULK, 1, WAIT_MS);
+        assertEquals(1, bulk.size());
+        assertNotSame(unreserved, bulk.get(0));
+        assertTrue(System.currentTimeMillis() - start < WAIT_MS / 2);
+
+        // but not the unreserved executor the interactive request is waiting for
+        pool.release(bulk.get(0), RequestPriority.BULK);
+        pool.release(unreserved, RequestPriority.INTERACTIVE);
+        assertEquals(1, interactive.get(WAIT_MS, TimeUnit.MILLISECONDS).size());
+        assertFalse(interactive.get().contains(bulk.get(0)));
+    }
+
+    @Test
+    public void testReservationsCountedInExecutors() {
+        // 2 executors with 2 slots each, one executor reserved for bulk
+        ExecutorPool pool = newPool(0, 1, 2, -1, 2);
+        Executor bulk = pool.acquire(RequestPriority.BULK, 1, 0).get(0);
+        // the executor handling the bulk request is the reserved one, so interactive requests can use the other one
+        assertNotSame(bulk, pool.acquire(RequestPriority.INTERACTIVE, 1, 0).get(0));
+        assertNotSame(bulk, pool.acquire(RequestPriority.INTERACTIVE, 1, 0).get(0));
+        assertTrue(pool.acquire(RequestPriority.INTERACTIVE, 1, 0).isEmpty());
+        assertEquals(List.of(bulk), pool.acquire(RequestPriority.BULK, 1, 0));
+        assertEquals(2, pool.getInUse(RequestPriority.BULK));
+        assertEquals(2, pool.getInUse(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testInteractiveNotBehindBulk() {
+        // 3 executors with 2 slots each, one executor reserved for interactive requests
+        ExecutorPool pool = newPool(1, 0, 2, -1, 3);
+        List<Executor> bulk = new ArrayList<>();
+        List<Executor> acquired = pool.acquire(RequestPriority.BULK, 3, 0);
+        while (!acquired.isEmpty()) {
+            bulk.addAll(acquired);
+            acquired = pool.acquire(RequestPriority.BULK, 3, 0);
+        }
+        // bulk requests fill the pipelines of the unreserved executors only
+        assertEquals(4, bulk.size());
+        assertEquals(2, new HashSet<>(bulk).size());
+
+        List<Executor> interactive = pool.acquire(RequestPriority.INTERACTIVE, 1, 0);
+        assertEquals(1, interactive.size());
+        assertFalse(bulk.contains(interactive.get(0)), "Interactive request queued behind bulk requests");
+    }
+
+    @Test
+    public void testWorkStealing() throws InterruptedException {
+        ExecutorPool pool = newPool(0, 1, 1, 200, 2);
+        // bulk lane hasn't been used yet, so its executor can be used by interactive requests
+        List<Executor> executors = pool.acquire(RequestPriority.INTERACTIVE, 2, 0);
+        assertEquals(2, executors.size());
+        executors.forEach(executor -> pool.release(executor, RequestPriority.INTERACTIVE));
+
+        // after a bulk request, the reserved executor is held back for a while
+        pool.release(pool.acquire(RequestPriority.BULK, 1, 0).get(0), RequestPriority.BULK);
+        executors = pool.acquire(RequestPriority.INTERACTIVE, 2, 0);
+        assertEquals(1, executors.size());
+        executors.forEach(executor -> pool.release(executor, RequestPriority.INTERACTIVE));
+
+        Thread.sleep(300);
+        assertEquals(2, pool.acquire(RequestPriority.INTERACTIVE, 2, 0).size());
+    }
+}
@@ -0,0 +1,174 @@
+package eu.europeana.api.embedding.service;
+
+import eu.europeana.api.commons_sb3.error.EuropeanaApiException;
+import eu.europeana.api.embedding.exception.RequestTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the Executor class, using a fake Python process that answers after a configurable delay
+ */
+public class ExecutorTest {
+
+    private static final String ANSWER = "{'status': 'success', 'data': []}";
+    private static final long HANG_TIMEOUT = 2000;
+
+    private ServerSocket server;
+    private volatile long answerDelay;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new ServerSocket(0);
+        Thread acceptor = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    new Thread(() -> answer(socket)).start();
+                } catch (IOException e) {
+                    // server stopped
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private void answer(Socket socket) {
+        try (socket) {
+            String request = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))
+                    .readLine();
+            if ("{PING}".equals(request)) {
+                socket.getOutputStream().write("PONG\n".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            Thread.sleep(answerDelay);
+            OutputStream out = socket.getOutputStream();
+            out.write(ANSWER.getBytes(StandardCharsets.UTF_8)); // like Python, without newline
+        } catch (IOException | InterruptedException e) {
+            // client stopped waiting
+        }
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    private static boolean waitFor(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @Test
+    public void testSendData() throws EuropeanaApiException {
+        Executor executor = new Executor("localhost", server.getLocalPort(), 1);
+        assertEquals(ANSWER, executor.sendData("{}", 2, 1000, HANG_TIMEOUT));
+        assertEquals(0, executor.getOutstandingRecords());
+        assertTrue(executor.getRecordLatency() >= 0);
+        assertTrue(executor.isHealthy());
+    }
+
+    @Test
+    public void testRequestTimeoutDoesNotFailExecutor() throws EuropeanaApiException {
+        Executor executor = new Executor("localhost", server.getLocalPort(), 2);
+        answerDelay = 500;
+        assertThrows(RequestTimeoutException.class, () -> executor.sendData("{}", 1, 1, HANG_TIMEOUT));
+        assertThrows(RequestTimeoutException.class, () -> executor.sendData("{}", 1, 100, HANG_TIMEOUT));
+        // a short client timeout shouldn't lead to the executor being replaced
+        assertTrue(executor.isHealthy());
+        assertFalse(executor.hasFailed());
+        assertEquals(ANSWER, executor.sendData("{}", 1, 5000, HANG_TIMEOUT));
+    }
+
+    @Test
+    public void testAbandonedRequestKeepsExecutorBusy() throws Exception {
+        Executor executor = new Executor("localhost", server.getLocalPort(), 1);
+        answerDelay = 600;
+        assertThrows(RequestTimeoutException.class, () -> executor.sendData("{}", 3, 100, HANG_TIMEOUT));
+        // the process is still working on the request, so the executor shouldn't look idle
+        assertEquals(3, executor.getOutstandingRecords());
+        assertEquals(0, executor.getFreeSlots());
+        assertFalse(executor.hasCapacity());
+
+        assertTrue(waitFor(() -> executor.getOutstandingRecords() == 0, 5000));
+        assertEquals(1, executor.getFreeSlots());
+        assertEquals(3, executor.getProcessedRecords());
+        assertTrue(executor.hasCapacity());
+        assertTrue(executor.isHealthy());
+    }
+
+    @Test
+    public void testHangingExecutor() {
+        Executor executor = new Executor("localhost", server.getLocalPort(), 1);
+        answerDelay = 10_000;
+        long start = System.currentTimeMillis();
+        assertThrows(RequestTimeoutException.class, () -> executor.sendData("{}", 1, 60_000, 300));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        // remote executors are marked as unhealthy, local ones as failed (so they are replaced)
+        assertFalse(executor.isHealthy());
+    }
+
+    @Test
+    public void testHangingExecutorWithLongerHangTimeout() throws Exception {
+        // like the default settings: the hang timeout is longer than the request timeout
+        long requestTimeout = 200;
+        long hangTimeout = 500;
+        Executor executor = new Executor("localhost", server.getLocalPort(), 1);
+        answerDelay = 60_000;
+        assertThrows(RequestTimeoutException.class, () -> executor.sendData("{}", 1, requestTimeout, hangTimeout));
+        assertTrue(executor.isHealthy());
+        assertFalse(executor.hasCapacity());
+
+        // no other requests are sent, but the process is still detected as hanging
+        assertTrue(waitFor(() -> !executor.isHealthy(), 5000));
+        assertEquals(0, executor.getOutstandingRecords());
+    }
+
+    @Test
+    public void testAwaitReady() throws IOException {
+        Executor executor = new Executor("localhost", server.getLocalPort(), 1);
+        assertTrue(executor.awaitReady(1000));
+
+        server.close();
+        assertFalse(executor.awaitReady(300));
+        assertFalse(executor.isHealthy());
+    }
+
+    @Test
+    public void testComputeLatencyBaseline() {
+        Executor executor = new Executor("localhost", server.getLocalPort(), 2);
+        for (int i = 0; i < 9; i++) {
+            executor.updateComputeLatency(100, 1000);
+        }
+        assertEquals(0.0, executor.getBaselineComputeLatency());
+        executor.updateComputeLatency(100, 1000);
+        assertEquals(0.1, executor.getBaselineComputeLatency(), 1e-9);
+
+        // slower batches move the rolling latency, but not the baseline
+        for (int i = 0; i < 20; i++) {
+            executor.updateComputeLatency(400, 1000);
+        }
+        assertEquals(0.1, executor.getBaselineComputeLatency(), 1e-9);
+        assertTrue(executor.getComputeLatency() > 0.3);
+        // the processing time of requests (including waiting in the pipeline) is tracked separately
+        assertEquals(0.0, executor.getRecordLatency());
+    }
+}
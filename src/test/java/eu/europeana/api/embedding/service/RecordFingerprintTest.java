@@ -0,0 +1,48 @@
+package eu.europeana.api.embedding.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the RecordFingerprint class. The expected texts were generated with transform_record in
+ * europeana_embeddings_cmd.py
+ */
+public class RecordFingerprintTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testToText() throws Exception {
+        assertEquals("Leonardo, A painting, famous, Italy, Mona Lisa, La Gioconda", RecordFingerprint.toText(
+                mapper.readTree("{\"id\": \"/1/a\", \"title\": [\"Mona Lisa\", \"La Gioconda\"], " +
+                        "\"description\": \"A painting, famous\", \"dcCreator\": [\"Leonardo\"], " +
+                        "\"country\": [\"Italy\"]}")));
+
+        // language-aware fields use the preferred language
+        assertEquals("Een beschrijving, Picture, The title, Other", RecordFingerprint.toText(
+                mapper.readTree("{\"id\": \"/1/b\", \"dcTitleLangAware\": {\"fr\": [\"Le titre\"], " +
+                        "\"en\": [\"The title\", \"Other\"]}, " +
+                        "\"dcDescriptionLangAware\": {\"nl\": [\"Een beschrijving\"]}, " +
+                        "\"edmConceptPrefLabelLangAware\": [{\"de\": \"Bild\"}, {\"en\": \"Picture\"}]}")));
+
+        // descriptions are truncated, duplicates removed
+        assertEquals("abc", RecordFingerprint.toText(
+                mapper.readTree("{\"id\": \"/1/e\", \"description\": \"" + "abc, ".repeat(100) + "\"}")));
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        JsonNode original = mapper.readTree("{\"id\": \"1\", \"title\": \"Mona Lisa\", \"rights\": \"CC0\"}");
+        // fields that are not used for the embedding don't change the fingerprint
+        JsonNode otherRights = mapper.readTree("{\"id\": \"1\", \"title\": \"Mona Lisa\", \"rights\": \"CC-BY\"}");
+        JsonNode otherTitle = mapper.readTree("{\"id\": \"1\", \"title\": \"La Gioconda\", \"rights\": \"CC0\"}");
+
+        String fingerprint = RecordFingerprint.fingerprint(original);
+        assertEquals(64, fingerprint.length());
+        assertEquals(fingerprint, RecordFingerprint.fingerprint(otherRights));
+        assertNotEquals(fingerprint, RecordFingerprint.fingerprint(otherTitle));
+    }
+}
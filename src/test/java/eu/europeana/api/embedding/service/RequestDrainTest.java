@@ -0,0 +1,64 @@
+package eu.europeana.api.embedding.service;
+
+import eu.europeana.api.embedding.exception.ShuttingDownException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the RequestDrain class
+ */
+public class RequestDrainTest {
+
+    @Test
+    public void testEnterAndExit() throws Exception {
+        RequestDrain drain = new RequestDrain();
+        drain.enter();
+        drain.enter();
+        assertEquals(2, drain.getInFlight());
+        drain.exit();
+        drain.exit();
+        assertEquals(0, drain.getInFlight());
+        assertTrue(drain.awaitIdle(0));
+    }
+
+    @Test
+    public void testRejectNewRequestsWhileInFlightFinish() throws Exception {
+        RequestDrain drain = new RequestDrain();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService threads = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> inFlight = threads.submit(() -> {
+                drain.enter();
+                try {
+                    started.countDown();
+                    return finish.await(10, TimeUnit.SECONDS);
+                } finally {
+                    drain.exit();
+                }
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            drain.start();
+            assertTrue(drain.isDraining());
+            assertThrows(ShuttingDownException.class, drain::enter);
+            // the rejected request should not be counted
+            assertEquals(1, drain.getInFlight());
+            assertFalse(drain.awaitIdle(200));
+
+            finish.countDown();
+            assertTrue(drain.awaitIdle(10_000));
+            assertTrue(inFlight.get());
+            assertEquals(0, drain.getInFlight());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package eu.europeana.api.embedding.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the RequestSplitter class
+ */
+public class RequestSplitterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testNrOfParts() {
+        assertEquals(1, RequestSplitter.getNrOfParts(10, 100, 4));
+        assertEquals(1, RequestSplitter.getNrOfParts(199, 100, 4));
+        assertEquals(2, RequestSplitter.getNrOfParts(200, 100, 4));
+        assertEquals(4, RequestSplitter.getNrOfParts(1000, 100, 4)); // limited by the number of executors
+        assertEquals(1, RequestSplitter.getNrOfParts(0, 100, 4));
+        assertEquals(1, RequestSplitter.getNrOfParts(1000, 100, 0));
+        assertEquals(3, RequestSplitter.getNrOfParts(3, 0, 4)); // invalid minimum is treated as 1
+    }
+
+    @Test
+    public void testSplit() {
+        Integer[] records = IntStream.range(0, 10).boxed().toArray(Integer[]::new);
+        List<Integer[]> parts = RequestSplitter.split(records, 3);
+        assertEquals(3, parts.size());
+        assertArrayEquals(new Integer[]{0, 1, 2}, parts.get(0));
+        assertArrayEquals(new Integer[]{3, 4, 5}, parts.get(1));
+        assertArrayEquals(new Integer[]{6, 7, 8, 9}, parts.get(2));
+
+        parts = RequestSplitter.split(records, 1);
+        assertArrayEquals(records, parts.get(0));
+    }
+
+    @Test
+    public void testMergeKeepsOrder() {
+        Integer[] records = IntStream.range(0, 7).boxed().toArray(Integer[]::new);
+        ObjectNode result = null;
+        for (Integer[] part : RequestSplitter.split(records, 3)) {
+            result = RequestSplitter.merge(result, output(part));
+        }
+        assertNotNull(result);
+        assertEquals(records.length, result.get("data").size());
+        for (int i = 0; i < records.length; i++) {
+            assertEquals(String.valueOf(i), result.get("data").get(i).get("id").asText());
+        }
+        assertEquals("success", result.get("status").asText());
+    }
+
+    /**
+     * Generate executor output for the provided records
+     */
+    private ObjectNode output(Integer[] part) {
+        ObjectNode result = mapper.createObjectNode();
+        result.put("status", "success");
+        for (Integer id : part) {
+            result.withArray("data").addObject().put("id", String.valueOf(id));
+        }
+        return result;
+    }
+}
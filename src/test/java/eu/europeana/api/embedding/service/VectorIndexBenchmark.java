@@ -0,0 +1,53 @@
+package eu.europeana.api.embedding.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures the query latency of the VectorIndex for increasing index sizes, so we can estimate up to which size the
+ * in-memory index is usable. Run the main method (preferably with a large enough heap, e.g. -Xmx4g).
+ */
+@SuppressWarnings("java:S106") // we print results to the console on purpose
+public final class VectorIndexBenchmark {
+
+    private static final int[] SIZES = {10_000, 50_000, 100_000, 250_000, 500_000, 1_000_000};
+    private static final int WARMUP_QUERIES = 50;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+
+    private VectorIndexBenchmark() {
+        // empty constructor to prevent initialization
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        int dimension = SimilarityService.VECTOR_DIMENSION;
+        VectorIndex index = new VectorIndex(dimension, SIZES[SIZES.length - 1]);
+        float[][] queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = VectorIndexTest.randomVector(random, dimension);
+        }
+
+        System.out.println("     size   avg ms   p50 ms   p99 ms");
+        for (int size : SIZES) {
+            while (index.size() < size) {
+                index.put("record" + index.size(), VectorIndexTest.randomVector(random, dimension));
+            }
+            for (int i = 0; i < WARMUP_QUERIES; i++) {
+                index.search(queries[i % QUERIES], K, null);
+            }
+            long[] durations = new long[QUERIES];
+            long total = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                long start = System.nanoTime();
+                index.search(queries[i], K, null);
+                durations[i] = System.nanoTime() - start;
+                total += durations[i];
+            }
+            Arrays.sort(durations);
+            System.out.println(String.format(Locale.ROOT, "%9d %8.2f %8.2f %8.2f", size, total / 1e6 / QUERIES,
+                    durations[QUERIES / 2] / 1e6, durations[QUERIES * 99 / 100] / 1e6));
+        }
+    }
+}
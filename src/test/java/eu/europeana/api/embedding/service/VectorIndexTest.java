@@ -0,0 +1,88 @@
+package eu.europeana.api.embedding.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the VectorIndex class
+ */
+public class VectorIndexTest {
+
+    private static final int DIMENSION = 4;
+
+    @Test
+    public void testSearch() {
+        VectorIndex index = new VectorIndex(DIMENSION, 10);
+        assertTrue(index.put("a", new float[]{1, 0, 0, 0}));
+        assertTrue(index.put("b", new float[]{2, 2, 0, 0})); // vectors are normalized, so length doesn't matter
+        assertTrue(index.put("c", new float[]{0, 0, 1, 0}));
+        assertEquals(3, index.size());
+
+        List<VectorIndex.Match> result = index.search(new float[]{1, 0.1f, 0, 0}, 2, null);
+        assertEquals(2, result.size());
+        assertEquals("a", result.get(0).id());
+        assertEquals("b", result.get(1).id());
+        assertTrue(result.get(0).score() > result.get(1).score());
+
+        // exclude the query record itself
+        result = index.search(index.get("a"), 1, "a");
+        assertEquals("b", result.get(0).id());
+        assertEquals(Math.sqrt(0.5), result.get(0).score(), 0.0001);
+    }
+
+    @Test
+    public void testReplaceAndFull() {
+        VectorIndex index = new VectorIndex(DIMENSION, 2);
+        assertTrue(index.put("a", new float[]{1, 0, 0, 0}));
+        assertTrue(index.put("b", new float[]{0, 1, 0, 0}));
+        assertFalse(index.put("c", new float[]{0, 0, 1, 0}));
+
+        // replacing an existing vector is still possible
+        assertTrue(index.put("a", new float[]{0, 0, 0, 3}));
+        assertEquals(2, index.size());
+        assertArrayEquals(new float[]{0, 0, 0, 1}, index.get("a"));
+        assertNull(index.get("c"));
+    }
+
+    @Test
+    public void testInvalidVector() {
+        VectorIndex index = new VectorIndex(DIMENSION, 2);
+        assertThrows(IllegalArgumentException.class, () -> index.put("a", new float[]{1, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> index.put("a", new float[]{0, 0, 0, 0}));
+    }
+
+    @Test
+    public void testParallelSearchSameAsSequential() {
+        Random random = new Random(42);
+        int size = 60_000; // above the threshold for parallel search
+        VectorIndex index = new VectorIndex(SimilarityService.VECTOR_DIMENSION, size);
+        float[] query = null;
+        for (int i = 0; i < size; i++) {
+            float[] vector = randomVector(random, SimilarityService.VECTOR_DIMENSION);
+            index.put("record" + i, vector);
+            if (i == size - 1) {
+                query = vector;
+            }
+        }
+        List<VectorIndex.Match> result = index.search(query, 5, null);
+        assertEquals(5, result.size());
+        assertEquals("record" + (size - 1), result.get(0).id());
+        assertEquals(1.0, result.get(0).score(), 0.0001);
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).score() >= result.get(i).score());
+        }
+    }
+
+    static float[] randomVector(Random random, int dimension) {
+        float[] result = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            result[i] = random.nextFloat();
+        }
+        return result;
+    }
+
+}
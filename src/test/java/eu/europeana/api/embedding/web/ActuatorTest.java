@@ -3,6 +3,7 @@ package eu.europeana.api.embedding.web;
 import eu.europeana.api.embedding.service.EmbeddingsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -14,10 +15,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
- * JUnit test for testing if the /info and /health actuator endpoints are available
+ * JUnit test for testing if the /info, /health and /prometheus actuator endpoints are available
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability // metrics export is disabled in tests by default
 public class ActuatorTest {
 
     @Autowired
@@ -57,4 +59,10 @@ public class ActuatorTest {
         assert result.getResponse().getContentAsString().contains("UP");
     }
 
+    @Test
+    public void testActuatorPrometheus() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().is(HttpStatus.OK.value()));
+    }
+
 }
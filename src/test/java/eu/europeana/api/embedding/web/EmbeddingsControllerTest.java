@@ -1,7 +1,16 @@
 package eu.europeana.api.embedding.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.github.luben.zstd.Zstd;
+import eu.europeana.api.embedding.config.WebMvcConfig;
+import eu.europeana.api.embedding.exception.ShuttingDownException;
 import eu.europeana.api.embedding.service.EmbeddingsService;
+import eu.europeana.api.embedding.service.RequestPriority;
 import eu.europeana.api.recommend.common.model.EmbeddingRecord;
 import eu.europeana.api.recommend.common.model.EmbeddingRequestData;
 import org.junit.jupiter.api.Disabled;
@@ -14,7 +23,20 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -51,6 +73,155 @@ public class EmbeddingsControllerTest {
                 .andExpect(status().is(HttpStatus.OK.value()));
     }
 
+    @Test
+    public void testPriority() throws Exception {
+        EmbeddingRequestData content = new EmbeddingRequestData(new EmbeddingRecord[0]);
+        String json = new ObjectMapper().writeValueAsString(content);
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(EmbeddingsController.HEADER_PRIORITY, "bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        verify(embeddingsService).generateEmbeddings(any(), eq(RequestPriority.BULK));
+
+        mockMvc.perform(post("/embedding_api/embeddings/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        verify(embeddingsService, times(2)).generateEmbeddings(any(), eq(RequestPriority.BULK));
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(EmbeddingsController.HEADER_PRIORITY, "urgent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        EmbeddingRequestData content = new EmbeddingRequestData(new EmbeddingRecord[0]);
+        String json = new ObjectMapper().writeValueAsString(content);
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(EmbeddingsController.HEADER_TIMEOUT, "500")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        verify(embeddingsService).generateEmbeddings(any(), eq(RequestPriority.INTERACTIVE), eq(500L));
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(EmbeddingsController.HEADER_TIMEOUT, "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @Test
+    public void testShuttingDown() throws Exception {
+        when(embeddingsService.generateEmbeddings(any(), any())).thenThrow(new ShuttingDownException());
+        EmbeddingRequestData content = new EmbeddingRequestData(new EmbeddingRecord[0]);
+        String json = new ObjectMapper().writeValueAsString(content);
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is(HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    @Test
+    public void testCompressedRequest() throws Exception {
+        EmbeddingRequestData content = new EmbeddingRequestData(new EmbeddingRecord[0]);
+        byte[] json = new ObjectMapper().writeValueAsBytes(content);
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(json);
+        }
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(gzipped.toByteArray()))
+                .andExpect(status().is(HttpStatus.OK.value()));
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(HttpHeaders.CONTENT_ENCODING, "zstd")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Zstd.compress(json)))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        verify(embeddingsService, times(2)).generateEmbeddings(any(), eq(RequestPriority.INTERACTIVE));
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(HttpHeaders.CONTENT_ENCODING, "br")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value()));
+    }
+
+    @Test
+    public void testBinaryRequest() throws Exception {
+        EmbeddingRequestData content = new EmbeddingRequestData(new EmbeddingRecord[0]);
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(content)))
+                .andExpect(status().is(HttpStatus.OK.value()));
+
+        mockMvc.perform(post("/embedding_api/embeddings")
+                        .header(HttpHeaders.ACCEPT, WebMvcConfig.APPLICATION_SMILE_VALUE)
+                        .contentType(WebMvcConfig.APPLICATION_SMILE)
+                        .content(new SmileMapper().writeValueAsBytes(content)))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        verify(embeddingsService, times(2)).generateEmbeddings(any(), eq(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        when(embeddingsService.generateVectors(any(), any(), anyLong())).thenAnswer(invocation -> {
+            ArrayNode data = mapper.createArrayNode();
+            for (EmbeddingRecord embeddingRecord : (EmbeddingRecord[]) invocation.getArgument(0)) {
+                data.addObject().putArray("embedding").add(0.5);
+            }
+            return data;
+        });
+
+        // first time both records are embedded
+        ObjectNode request = mapper.createObjectNode();
+        ArrayNode records = request.putArray("records");
+        records.addObject().put("id", "1").putArray("title").add("Mona Lisa");
+        records.addObject().put("id", "2").putArray("title").add("Nachtwacht");
+        JsonNode data = postIncremental(mapper, request);
+        assertEquals("embedded", data.get(0).get("status").asText());
+        assertEquals("embedded", data.get(1).get("status").asText());
+        assertTrue(data.get(0).has("embedding"));
+
+        // second time only the record of which the title changed is embedded
+        ((ObjectNode) records.get(0)).put("fingerprint", data.get(0).get("fingerprint").asText());
+        ((ObjectNode) records.get(1)).put("fingerprint", data.get(1).get("fingerprint").asText())
+                .putArray("title").add("De Nachtwacht");
+        data = postIncremental(mapper, request);
+        assertEquals("unchanged", data.get(0).get("status").asText());
+        assertFalse(data.get(0).has("embedding"));
+        assertEquals("embedded", data.get(1).get("status").asText());
+
+        // nothing changed, so no executor is needed
+        ((ObjectNode) records.get(1)).put("fingerprint", data.get(1).get("fingerprint").asText());
+        data = postIncremental(mapper, request);
+        assertEquals("unchanged", data.get(1).get("status").asText());
+        verify(embeddingsService, times(2)).generateVectors(any(), eq(RequestPriority.INTERACTIVE), anyLong());
+    }
+
+    private JsonNode postIncremental(ObjectMapper mapper, ObjectNode request) throws Exception {
+        MvcResult result = mockMvc.perform(post("/embedding_api/embeddings/incremental")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().is(HttpStatus.OK.value()))
+                .andReturn();
+        return mapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+
     @Test
     public void testEmptyPost() throws Exception {
         // with accept header
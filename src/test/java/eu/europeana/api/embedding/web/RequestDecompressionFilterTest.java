@@ -0,0 +1,96 @@
+package eu.europeana.api.embedding.web;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test for the RequestDecompressionFilter class
+ */
+public class RequestDecompressionFilterTest {
+
+    private static final String BODY = "{\"records\":[]}";
+
+    private static MockHttpServletRequest newGzipRequest() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/embedding_api/embeddings");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(compressed.toByteArray());
+        return request;
+    }
+
+    private static ServletInputStream getDecompressedStream(MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        new RequestDecompressionFilter().doFilter(request, new MockHttpServletResponse(), chain);
+        return chain.getRequest().getInputStream();
+    }
+
+    @Test
+    public void testReadListenerWithoutAsync() throws Exception {
+        ServletInputStream in = getDecompressedStream(newGzipRequest());
+        assertThrows(IllegalStateException.class, () -> in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+                // not called
+            }
+
+            @Override
+            public void onAllDataRead() {
+                // not called
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // not called
+            }
+        }));
+    }
+
+    @Test
+    public void testReadListener() throws Exception {
+        MockHttpServletRequest request = newGzipRequest();
+        request.setAsyncSupported(true);
+        request.startAsync();
+        ServletInputStream in = getDecompressedStream(request);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[4];
+                int n;
+                while (in.isReady() && (n = in.read(buffer)) >= 0) {
+                    body.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+        assertTrue(allDataRead.get());
+        assertEquals(BODY, body.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package eu.europeana.api.embedding.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.europeana.api.embedding.service.EmbeddingsService;
+import eu.europeana.api.embedding.service.SimilarityService;
+import eu.europeana.api.recommend.common.model.EmbeddingRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JUnit test for testing the SimilarityController class (with the similarity index enabled)
+ */
+@SpringBootTest(properties = "index.enabled=true")
+@AutoConfigureMockMvc
+public class SimilarityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    EmbeddingsService embeddingsService;
+
+    @Test
+    public void testUnknownRecord() throws Exception {
+        mockMvc.perform(get("/embedding_api/similar").param("id", "/unknown/record"))
+                .andExpect(status().is(HttpStatus.NOT_FOUND.value()));
+    }
+
+    @Test
+    public void testInvalidK() throws Exception {
+        mockMvc.perform(get("/embedding_api/similar").param("id", "/unknown/record").param("k", "0"))
+                .andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @Test
+    public void testMissingId() throws Exception {
+        mockMvc.perform(get("/embedding_api/similar"))
+                .andExpect(status().is(HttpStatus.BAD_REQUEST.value()));
+    }
+
+    @Test
+    public void testOnlyEmbeddingsAreIndexed() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Answer<ArrayNode> vectors = invocation -> {
+            ArrayNode data = mapper.createArrayNode();
+            for (EmbeddingRecord embeddingRecord : (EmbeddingRecord[]) invocation.getArgument(0)) {
+                String id = mapper.valueToTree(embeddingRecord).get("id").asText();
+                ArrayNode embedding = data.addObject().put("id", id).putArray("embedding");
+                for (int i = 0; i < SimilarityService.VECTOR_DIMENSION; i++) {
+                    embedding.add(1.0);
+                }
+            }
+            return data;
+        };
+        when(embeddingsService.generateVectors(any(), any())).thenAnswer(vectors);
+        when(embeddingsService.generateVectors(any(), any(), anyLong())).thenAnswer(vectors);
+        ObjectNode request = mapper.createObjectNode();
+        request.putArray("records").addObject().put("id", "/query/record").putArray("title").add("Mona Lisa");
+        mockMvc.perform(post("/embedding_api/similar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        // records we only searched with are not added to the index
+        mockMvc.perform(get("/embedding_api/similar").param("id", "/query/record"))
+                .andExpect(status().is(HttpStatus.NOT_FOUND.value()));
+
+        request = mapper.createObjectNode();
+        request.putArray("records").addObject().put("id", "/embedded/record").putArray("title").add("Nachtwacht");
+        mockMvc.perform(post("/embedding_api/embeddings/incremental")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        mockMvc.perform(get("/embedding_api/similar").param("id", "/embedded/record"))
+                .andExpect(status().is(HttpStatus.OK.value()));
+    }
+}